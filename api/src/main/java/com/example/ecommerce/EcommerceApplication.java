@@ -1,9 +1,14 @@
 package com.example.ecommerce;
 
+import com.example.common.VirtualThreadPinningMonitor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@Import(VirtualThreadPinningMonitor.class)
 public class EcommerceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,37 @@
+package com.example.ecommerce.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Revision of the product catalog as seen by this instance, used for list ETags. It
+ * moves on every product write made here that changes what the catalog shows (not on
+ * reservations, which only change the hidden {@code reserved} count) and, like
+ * {@link ProductCache}, knows nothing of writes made through other instances. To bound
+ * that, and the lag of list pages read from secondaries, the revision also rolls over
+ * every {@code max-staleness} period.
+ */
+@Component
+public class CatalogRevision {
+
+    // Keeps ETags from a previous run, or another instance, from ever matching
+    private final String instance = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong writes = new AtomicLong();
+    private final long periodMillis;
+
+    public CatalogRevision(@Value("${mongodb.read-routing.max-staleness:90s}") Duration period) {
+        this.periodMillis = period.toMillis();
+    }
+
+    public void bump() {
+        writes.incrementAndGet();
+    }
+
+    public String current() {
+        return instance + "-" + writes.get() + "-" + System.currentTimeMillis() / periodMillis;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.ecommerce.cache;
+
+import com.example.ecommerce.model.Product;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-process cache of products keyed by id. Entries are evicted by size and
+ * by age, and invalidated by {@code ProductService} whenever a product is written.
+ * Cached stock is only ever advisory; checkout reads bypass this cache.
+ */
+@Component
+public class ProductCache {
+
+    private final Cache<String, Product> cache;
+
+    public ProductCache(@Value("${product.cache.max-size:10000}") long maxSize,
+                        @Value("${product.cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Product get(String id) {
+        return cache.getIfPresent(id);
+    }
+
+    public Map<String, Product> getAll(Collection<String> ids) {
+        return cache.getAllPresent(ids);
+    }
+
+    public void put(Product product) {
+        cache.put(product.getId(), product);
+    }
+
+    public void putAll(Collection<Product> products) {
+        for (Product product : products) {
+            cache.put(product.getId(), product);
+        }
+    }
+
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll(Collection<String> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
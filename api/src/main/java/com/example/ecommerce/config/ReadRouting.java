@@ -0,0 +1,85 @@
+package com.example.ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.ReadPreference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes designated read-only queries (catalog pages, search results, order history) to
+ * secondaries with {@code secondaryPreferred} and a max-staleness bound. Every other
+ * query keeps the client default, primary, so stock checks and reads that follow a
+ * write always see that write.
+ *
+ * <p>A user's own history goes back to the primary for {@code read-your-writes-window}
+ * after that user placed, paid for or cancelled an order through this instance, so they
+ * never miss their own write on a lagging secondary. Writes are remembered per instance,
+ * which is enough behind a load balancer with sticky sessions.
+ *
+ * <p>Against a standalone server or a replica set without secondaries, routed reads
+ * simply go to the primary.
+ */
+@Component
+@Slf4j
+public class ReadRouting {
+
+    // The server rejects smaller bounds
+    private static final Duration MIN_STALENESS = Duration.ofSeconds(90);
+
+    private final ReadPreference secondaryReads;
+
+    // Users with a recent write, who must not be sent to a secondary yet
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadRouting(@Value("${mongodb.read-routing.enabled:true}") boolean enabled,
+                       @Value("${mongodb.read-routing.max-staleness:90s}") Duration maxStaleness,
+                       @Value("${mongodb.read-routing.read-your-writes-window:100s}") Duration readYourWritesWindow,
+                       @Value("${mongodb.read-routing.max-recent-writers:100000}") long maxRecentWriters) {
+        if (enabled && maxStaleness.compareTo(MIN_STALENESS) < 0) {
+            throw new IllegalArgumentException("mongodb.read-routing.max-staleness must be at least 90s");
+        }
+        if (enabled && readYourWritesWindow.compareTo(maxStaleness) < 0) {
+            throw new IllegalArgumentException(
+                    "mongodb.read-routing.read-your-writes-window must be at least max-staleness");
+        }
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(maxRecentWriters)
+                .build();
+        this.secondaryReads = enabled
+                ? ReadPreference.secondaryPreferred(maxStaleness.toSeconds(), TimeUnit.SECONDS)
+                : ReadPreference.primary();
+        log.info("Read-only catalog and history queries use read preference {}", secondaryReads);
+    }
+
+    /**
+     * Marks {@code query} as safe to serve from a secondary.
+     */
+    public Query secondaryPreferred(Query query) {
+        return query.withReadPreference(secondaryReads);
+    }
+
+    /**
+     * Records that {@code userId} is about to change one of their orders. Call it before the
+     * write, so a read racing the write cannot go to a secondary.
+     */
+    public void userWrote(String userId) {
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Like {@link #secondaryPreferred}, but keeps {@code query} on the primary while
+     * {@code userId} has a recent write.
+     */
+    public Query forUser(String userId, Query query) {
+        return recentWriters.getIfPresent(userId) != null ? query : secondaryPreferred(query);
+    }
+}
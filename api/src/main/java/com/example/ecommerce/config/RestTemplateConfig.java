@@ -0,0 +1,103 @@
+package com.example.ecommerce.config;
+
+import com.example.common.HttpClientMetrics;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Configuration
+public class RestTemplateConfig {
+
+    @Value("${http.client.max-total:200}")
+    private int maxTotal;
+
+    @Value("${http.client.max-per-route:20}")
+    private int maxPerRoute;
+
+    @Value("${http.client.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${http.client.response-timeout:10s}")
+    private Duration responseTimeout;
+
+    @Value("${http.client.pool-timeout:2s}")
+    private Duration poolTimeout;
+
+    @Value("${http.client.idle-timeout:30s}")
+    private Duration idleTimeout;
+
+    @Value("${http.client.time-to-live:5m}")
+    private Duration timeToLive;
+
+    @Value("${payment.service.url}")
+    private String paymentServiceUrl;
+
+    @Value("${payment.service.max-connections:50}")
+    private int paymentServiceMaxConnections;
+
+    @Bean
+    public PoolingHttpClientConnectionManager httpConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeout.toMillis()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLive.toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        // Checkout fans out to the payment service, so it gets its own limit
+        connectionManager.setMaxPerRoute(new HttpRoute(httpHost(paymentServiceUrl)), paymentServiceMaxConnections);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Fail fast when the pool is exhausted instead of queueing request threads
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeout.toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeout.toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeout.toMillis()))
+                .build();
+    }
+
+    @Bean
+    public HttpClientMetrics httpClientMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return new HttpClientMetrics(httpConnectionManager);
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient httpClient, HttpClientMetrics httpClientMetrics) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.getInterceptors().add(httpClientMetrics);
+        return restTemplate;
+    }
+
+    // Routes are keyed by host with an explicit port, matching what the route planner produces
+    private static HttpHost httpHost(String url) {
+        URI uri = URI.create(url);
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equals(uri.getScheme()) ? 443 : 80);
+        return new HttpHost(uri.getScheme(), uri.getHost(), port);
+    }
+}
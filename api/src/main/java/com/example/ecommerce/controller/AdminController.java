@@ -0,0 +1,80 @@
+package com.example.ecommerce.controller;
+
+import com.example.common.HttpClientMetrics;
+import com.example.ecommerce.index.IndexReport;
+import com.example.ecommerce.index.IndexVerifier;
+import com.example.ecommerce.index.QueryPlan;
+import com.example.ecommerce.index.QueryPlanGuard;
+import com.example.ecommerce.migration.CartMigration;
+import com.example.ecommerce.migration.OrderEmbeddingMigration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Slf4j
+public class AdminController {
+
+    private final OrderEmbeddingMigration orderEmbeddingMigration;
+    private final CartMigration cartMigration;
+    private final HttpClientMetrics httpClientMetrics;
+    private final IndexVerifier indexVerifier;
+    private final QueryPlanGuard queryPlanGuard;
+
+    @PostMapping("/migrations/embed-order-items")
+    public ResponseEntity<Map<String, Object>> embedOrderItems(
+            @RequestParam(defaultValue = "500") int batchSize) {
+        log.info("POST /api/admin/migrations/embed-order-items - batchSize={}", batchSize);
+        if (batchSize < 1 || batchSize > 10000) {
+            throw new IllegalArgumentException("batchSize must be between 1 and 10000");
+        }
+        long migrated = orderEmbeddingMigration.run(batchSize);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Order embedding migration completed");
+        response.put("migrated", migrated);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/migrations/carts")
+    public ResponseEntity<Map<String, Object>> migrateCarts(
+            @RequestParam(defaultValue = "500") int batchSize) {
+        log.info("POST /api/admin/migrations/carts - batchSize={}", batchSize);
+        if (batchSize < 1 || batchSize > 10000) {
+            throw new IllegalArgumentException("batchSize must be between 1 and 10000");
+        }
+        long migrated = cartMigration.run(batchSize);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Cart migration completed");
+        response.put("migrated", migrated);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/http-client/stats")
+    public ResponseEntity<Map<String, Object>> getHttpClientStats() {
+        log.debug("GET /api/admin/http-client/stats");
+        return ResponseEntity.ok(httpClientMetrics.stats());
+    }
+
+    @GetMapping("/indexes")
+    public ResponseEntity<IndexReport> getIndexDrift() {
+        log.debug("GET /api/admin/indexes");
+        return ResponseEntity.ok(indexVerifier.verify(false));
+    }
+
+    @GetMapping("/indexes/query-plans")
+    public ResponseEntity<List<QueryPlan>> getQueryPlans() {
+        log.debug("GET /api/admin/indexes/query-plans");
+        return ResponseEntity.ok(queryPlanGuard.check());
+    }
+}
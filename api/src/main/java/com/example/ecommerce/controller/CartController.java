@@ -2,11 +2,11 @@ package com.example.ecommerce.controller;
 
 import com.example.ecommerce.dto.AddToCartRequest;
 import com.example.ecommerce.dto.CartItemResponse;
-import com.example.ecommerce.model.CartItem;
 import com.example.ecommerce.service.CartService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +17,7 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/cart")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Slf4j
 public class CartController {
@@ -24,22 +25,24 @@ public class CartController {
     private final CartService cartService;
 
     @PostMapping("/add")
-    public ResponseEntity<CartItem> addToCart(@Valid @RequestBody AddToCartRequest request) {
-        log.info("POST /api/cart/add - Adding item to cart for user: {}", request.getUserId());
-        CartItem cartItem = cartService.addToCart(request);
+    public ResponseEntity<CartItemResponse> addToCart(@Valid @RequestBody AddToCartRequest request) {
+        log.debug("POST /api/cart/add - Adding item to cart for user: {}", request.getUserId());
+        CartItemResponse cartItem = cartService.addToCart(request);
         return new ResponseEntity<>(cartItem, HttpStatus.CREATED);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<List<CartItemResponse>> getCartItems(@PathVariable String userId) {
-        log.info("GET /api/cart/{} - Fetching cart items", userId);
-        List<CartItemResponse> cartItems = cartService.getCartItems(userId);
+    public ResponseEntity<List<CartItemResponse>> getCartItems(
+            @PathVariable String userId,
+            @RequestParam(required = false) String fields) {
+        log.debug("GET /api/cart/{} - Fetching cart items", userId);
+        List<CartItemResponse> cartItems = cartService.getCartItems(userId, fields);
         return ResponseEntity.ok(cartItems);
     }
 
     @DeleteMapping("/{userId}/clear")
     public ResponseEntity<Map<String, String>> clearCart(@PathVariable String userId) {
-        log.info("DELETE /api/cart/{}/clear - Clearing cart", userId);
+        log.debug("DELETE /api/cart/{}/clear - Clearing cart", userId);
         cartService.clearCart(userId);
 
         Map<String, String> response = new HashMap<>();
@@ -0,0 +1,61 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.model.Product;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Strong ETags and {@code If-None-Match} handling shared by the servlet and reactive
+ * product controllers.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    // Null for products written before versioning; they get one on their next write
+    public static String forProduct(Product product) {
+        return product.getVersion() == null ? null : "\"" + product.getVersion() + "\"";
+    }
+
+    public static String forCatalog(String revision) {
+        return "\"c-" + revision + "\"";
+    }
+
+    /**
+     * True if {@code ifNoneMatch} lists {@code etag} or is {@code *}. Uses the weak
+     * comparison RFC 9110 prescribes for {@code If-None-Match}.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    /**
+     * 304 if the client already has {@code etag}, otherwise 200 with the body and the ETag.
+     */
+    public static <T> ResponseEntity<T> respond(String ifNoneMatch, String etag, T body) {
+        if (etag == null) {
+            return ResponseEntity.ok(body);
+        }
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(body);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.dto.BulkOrderRequest;
+import com.example.ecommerce.dto.BulkOrderResponse;
+import com.example.ecommerce.dto.BulkOrderResult;
+import com.example.ecommerce.dto.CreateOrderRequest;
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.OrderResponse;
+import com.example.ecommerce.dto.OrderSummary;
+import com.example.ecommerce.service.ExportService;
+import com.example.ecommerce.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/orders")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Slf4j
+public class OrderController {
+
+    private final OrderService orderService;
+    private final ExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping
+    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+        log.debug("POST /api/orders - Creating order for user: {}", request.getUserId());
+        OrderResponse order = orderService.createOrder(request.getUserId());
+        return new ResponseEntity<>(order, HttpStatus.CREATED);
+    }
+
+    @PostMapping(value = "/bulk", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkOrderResponse> createOrders(@Valid @RequestBody BulkOrderRequest request) {
+        log.debug("POST /api/orders/bulk - Creating {} orders", request.getOrders().size());
+        List<BulkOrderResult> results = new ArrayList<>(request.getOrders().size());
+        orderService.createOrders(request.getOrders(), results::addAll);
+
+        int created = (int) results.stream().filter(result -> "CREATED".equals(result.getStatus())).count();
+        return ResponseEntity.ok(BulkOrderResponse.builder()
+                .created(created)
+                .rejected(results.size() - created)
+                .results(results)
+                .build());
+    }
+
+    // One result line per order, written as each chunk completes
+    @PostMapping(value = "/bulk", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamCreateOrders(@Valid @RequestBody BulkOrderRequest request) {
+        log.debug("POST /api/orders/bulk - Streaming results for {} orders", request.getOrders().size());
+        StreamingResponseBody body = out -> {
+            BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+            orderService.createOrders(request.getOrders(), chunk -> {
+                try {
+                    for (BulkOrderResult result : chunk) {
+                        buffered.write(objectMapper.writeValueAsBytes(result));
+                        buffered.write('\n');
+                    }
+                    buffered.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        log.debug("GET /api/orders/export - Streaming orders from {} to {}", from, to);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        StreamingResponseBody body = out -> exportService.exportOrders(from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    @GetMapping("/{orderId}")
+    public ResponseEntity<OrderResponse> getOrderById(@PathVariable String orderId) {
+        log.debug("GET /api/orders/{} - Fetching order", orderId);
+        OrderResponse order = orderService.getOrderById(orderId);
+        return ResponseEntity.ok(order);
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<CursorPage<OrderSummary>> getUserOrders(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields) {
+        log.debug("GET /api/orders/user/{} - Fetching user orders", userId);
+        CursorPage<OrderSummary> orders = orderService.getUserOrders(userId, cursor, size, fields);
+        return ResponseEntity.ok(orders);
+    }
+
+    @PostMapping("/{orderId}/cancel")
+    public ResponseEntity<OrderResponse> cancelOrder(@PathVariable String orderId) {
+        log.debug("POST /api/orders/{}/cancel - Cancelling order", orderId);
+        OrderResponse order = orderService.cancelOrder(orderId);
+        return ResponseEntity.ok(order);
+    }
+}
@@ -6,12 +6,14 @@ import com.example.ecommerce.service.PaymentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/payments")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Slf4j
 public class PaymentController {
@@ -20,7 +22,7 @@ public class PaymentController {
 
     @PostMapping("/create")
     public ResponseEntity<Payment> createPayment(@Valid @RequestBody PaymentRequest request) {
-        log.info("POST /api/payments/create - Creating payment for order: {}", request.getOrderId());
+        log.debug("POST /api/payments/create - Creating payment for order: {}", request.getOrderId());
         Payment payment = paymentService.createPayment(request);
         return new ResponseEntity<>(payment, HttpStatus.CREATED);
     }
@@ -0,0 +1,148 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.cache.CatalogRevision;
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.ProductImportReport;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.service.ExportService;
+import com.example.ecommerce.service.ProductImportService;
+import com.example.ecommerce.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/products")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Slf4j
+public class ProductController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final ProductService productService;
+    private final ExportService exportService;
+    private final ProductImportService productImportService;
+    private final CatalogRevision catalogRevision;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping
+    public ResponseEntity<Product> createProduct(@Valid @RequestBody Product product) {
+        log.debug("POST /api/products - Creating product: {}", product.getName());
+        Product createdProduct = productService.createProduct(product);
+        return new ResponseEntity<>(createdProduct, HttpStatus.CREATED);
+    }
+
+    // The ETag is taken before the read, so a concurrent write can only make it older than the page
+    @GetMapping
+    public ResponseEntity<CursorPage<Product>> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.forCatalog(catalogRevision.current());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        log.debug("GET /api/products - Fetching products page");
+        CursorPage<Product> products = productService.getAllProducts(cursor, size);
+        return ResponseEntity.ok().eTag(etag).body(products);
+    }
+
+    // The body is read line by line as it arrives, never buffered whole
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ProductImportReport> importNdjson(InputStream body) throws IOException {
+        log.debug("POST /api/products/import - Importing NDJSON");
+        return ResponseEntity.ok(productImportService.importFrom(body, ProductImportService.Format.NDJSON));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ProductImportReport> importCsv(InputStream body) throws IOException {
+        log.debug("POST /api/products/import - Importing CSV");
+        return ResponseEntity.ok(productImportService.importFrom(body, ProductImportService.Format.CSV));
+    }
+
+    // With progress=true the response is NDJSON: a report every few thousand rows, then the complete one
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"}, params = "progress=true",
+            produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importWithProgress(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        log.debug("POST /api/products/import?progress=true - Importing {}", contentType);
+        ProductImportService.Format format = contentType.isCompatibleWith(TEXT_CSV)
+                ? ProductImportService.Format.CSV
+                : ProductImportService.Format.NDJSON;
+        StreamingResponseBody response = out -> {
+            try {
+                ProductImportReport report = productImportService.importFrom(body, format,
+                        progress -> writeLine(out, progress));
+                writeLine(out, report);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(response);
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        log.debug("GET /api/products/export - Streaming product catalog");
+        StreamingResponseBody body = exportService::exportProducts;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        log.debug("GET /api/products/cache/stats - Fetching product cache stats");
+        return ResponseEntity.ok(productService.getCacheStats());
+    }
+
+    // A cached product answers a matching If-None-Match without going to Mongo
+    @GetMapping("/{id}")
+    public ResponseEntity<Product> getProductById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("GET /api/products/{} - Fetching product", id);
+        Product product = productService.getProductById(id);
+        return ETags.respond(ifNoneMatch, ETags.forProduct(product), product);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<Product>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        log.debug("GET /api/products/search?q={}&page={}", q, page);
+        List<Product> products = productService.searchProducts(q, page, size);
+        return ResponseEntity.ok(products);
+    }
+
+    // Flushed per line, so the client sees each report as soon as it is written
+    private void writeLine(OutputStream out, ProductImportReport report) {
+        try {
+            objectMapper.writeValue(out, report);
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
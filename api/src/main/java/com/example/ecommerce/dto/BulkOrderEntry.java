@@ -0,0 +1,25 @@
+package com.example.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One order of a bulk submission, with its own lines instead of a cart. Entries are
+ * validated one by one, so a malformed entry rejects only that order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderEntry {
+
+    private String reference; // Caller's id for the order, echoed back in its result
+
+    private String userId;
+
+    private List<OrderLineRequest> items;
+}
@@ -0,0 +1,21 @@
+package com.example.ecommerce.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderRequest {
+
+    @NotEmpty(message = "At least one order is required")
+    @Size(max = 10000, message = "At most 10000 orders per request")
+    private List<BulkOrderEntry> orders;
+}
@@ -0,0 +1,28 @@
+package com.example.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one order in a bulk submission, identified by its position in the request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderResult {
+
+    private int index;
+
+    private String reference;
+
+    private String status; // CREATED or REJECTED
+
+    private String orderId; // Only for CREATED
+
+    private Double totalAmount; // Only for CREATED
+
+    private String error; // Only for REJECTED
+}
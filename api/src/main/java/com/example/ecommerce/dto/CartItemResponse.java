@@ -1,6 +1,5 @@
 package com.example.ecommerce.dto;
 
-import com.example.ecommerce.model.Product;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,11 +11,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class CartItemResponse {
 
-    private String id;
-
     private String productId;
 
     private Integer quantity;
 
-    private Product product;
+    private ProductSummary product;
 }
@@ -0,0 +1,40 @@
+package com.example.ecommerce.dto;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Parses the {@code fields=} selector of read endpoints, a comma-separated list of
+ * field names, into the set of fields to project.
+ */
+public final class FieldSelector {
+
+    private FieldSelector() {
+    }
+
+    /**
+     * Returns {@code defaults} when {@code fields} is null or blank.
+     *
+     * @throws IllegalArgumentException if a name is not in {@code allowed}
+     */
+    public static Set<String> parse(String fields, Set<String> allowed, Set<String> defaults) {
+        if (fields == null || fields.isBlank()) {
+            return defaults;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException(
+                        "Unknown field '" + name + "'; allowed: " + String.join(", ", new TreeSet<>(allowed)));
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? defaults : Collections.unmodifiableSet(selected);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.model.OrderLine;
+import com.example.ecommerce.model.PaymentSummary;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Order history entry, read from Mongo with a field projection. Fields that were not
+ * selected stay null and are left out of the JSON.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderSummary {
+
+    public static final Set<String> FIELDS =
+            Set.of("id", "userId", "status", "totalAmount", "createdAt", "items", "payment");
+
+    public static final Set<String> DEFAULT_FIELDS = Set.of("id", "status", "totalAmount", "createdAt");
+
+    private String id;
+
+    private String userId;
+
+    private String status;
+
+    private Double totalAmount;
+
+    private Instant createdAt;
+
+    private List<OrderLine> items; // Embedded lines only; null for orders still stored in order_items
+
+    private PaymentSummary payment;
+}
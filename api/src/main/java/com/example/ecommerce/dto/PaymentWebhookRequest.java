@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -18,4 +20,7 @@ public class PaymentWebhookRequest {
     private String status; // SUCCESS, FAILED
 
     private String message;
+
+    // Payment creation time, echoed back by the payment service for the round-trip metric
+    private Instant requestedAt;
 }
@@ -0,0 +1,38 @@
+package com.example.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportReport {
+
+    private boolean complete; // False for the progress reports sent while the import runs
+
+    private long rows;
+
+    private long inserted;
+
+    private long updated;
+
+    private long rejected;
+
+    private List<RowError> errors; // The first product.import.max-errors rejections
+
+    private long durationMs;
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+
+        private long line;
+
+        private String error;
+    }
+}
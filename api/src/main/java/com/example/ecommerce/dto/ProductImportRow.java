@@ -1,22 +1,24 @@
-package com.example.ecommerce.model;
+package com.example.ecommerce.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.Document;
 
-@Document(collection = "products")
+/**
+ * One product row of a bulk import, parsed from an NDJSON line or a CSV record.
+ * Rows are matched to existing products by {@code id} if given, otherwise by {@code sku}.
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Product {
+public class ProductImportRow {
 
-    @Id
     private String id;
 
+    private String sku;
+
     private String name;
 
     private String description;
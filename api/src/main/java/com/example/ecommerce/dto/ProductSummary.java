@@ -0,0 +1,50 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.model.Product;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * The product fields a cart line shows. The id is always present; other fields are
+ * only set when selected and are otherwise left out of the JSON.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductSummary {
+
+    public static final Set<String> FIELDS = Set.of("sku", "name", "description", "price", "stock");
+
+    public static final Set<String> DEFAULT_FIELDS = Set.of("name", "price", "stock");
+
+    private String id;
+
+    private String sku;
+
+    private String name;
+
+    private String description;
+
+    private Double price;
+
+    private Integer stock;
+
+    public static ProductSummary from(Product product, Collection<String> fields) {
+        return ProductSummary.builder()
+                .id(product.getId())
+                .sku(fields.contains("sku") ? product.getSku() : null)
+                .name(fields.contains("name") ? product.getName() : null)
+                .description(fields.contains("description") ? product.getDescription() : null)
+                .price(fields.contains("price") ? product.getPrice() : null)
+                .stock(fields.contains("stock") ? product.getStock() : null)
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.ecommerce.exception;
+
+import java.util.Set;
+
+public class InsufficientStockException extends IllegalArgumentException {
+
+    private final Set<String> productIds;
+
+    public InsufficientStockException(String message, Set<String> productIds) {
+        super(message);
+        this.productIds = productIds;
+    }
+
+    public Set<String> getProductIds() {
+        return productIds;
+    }
+}
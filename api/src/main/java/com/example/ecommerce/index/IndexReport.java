@@ -0,0 +1,30 @@
+package com.example.ecommerce.index;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Differences between the indexes declared on the document classes and those in the
+ * database. Entries are {@code collection.indexName} or {@code collection.{keys}}.
+ */
+@Data
+public class IndexReport {
+
+    // Declared and missing, then created by the verifier
+    private final List<String> created = new ArrayList<>();
+
+    // Declared and missing, left alone because creation is disabled
+    private final List<String> missing = new ArrayList<>();
+
+    // Same keys as a declared index but different unique/sparse/TTL options
+    private final List<String> mismatched = new ArrayList<>();
+
+    // Present in the database but not declared anywhere
+    private final List<String> unexpected = new ArrayList<>();
+
+    public boolean hasDrift() {
+        return !missing.isEmpty() || !mismatched.isEmpty() || !unexpected.isEmpty();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.ecommerce.index;
+
+import com.example.ecommerce.model.Cart;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.OrderItem;
+import com.example.ecommerce.model.Payment;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.model.StockReservation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Verifies at startup that every index declared on the document classes
+ * ({@code @Indexed}, {@code @CompoundIndex}) exists with the declared options, creates
+ * the missing ones, and logs any drift. Index creation is owned here rather than by
+ * {@code auto-index-creation}, so the outcome is reported in one place.
+ *
+ * <p>Indexes are matched by key pattern, not name. Mismatched options and undeclared
+ * indexes are only reported: fixing them means dropping an index, which is left to an
+ * operator.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IndexVerifier {
+
+    // Every collection the application queries; cart_items is legacy and only drained
+    static final List<Class<?>> DOCUMENTS = List.of(
+            Product.class, Cart.class, Order.class, OrderItem.class, Payment.class, StockReservation.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${mongodb.indexes.create-missing:true}")
+    private boolean createMissing;
+
+    // Before the query-plan guard, so its plans reflect the created indexes
+    @EventListener(ApplicationReadyEvent.class)
+    @org.springframework.core.annotation.Order(Ordered.HIGHEST_PRECEDENCE)
+    public void verifyOnStartup() {
+        IndexReport report = verify(createMissing);
+        if (!report.getCreated().isEmpty()) {
+            log.info("Created indexes: {}", report.getCreated());
+        }
+        if (report.hasDrift()) {
+            log.warn("Index drift: missing={}, mismatched={}, unexpected={}",
+                    report.getMissing(), report.getMismatched(), report.getUnexpected());
+        } else {
+            log.info("All declared indexes present on {} collections", DOCUMENTS.size());
+        }
+    }
+
+    /**
+     * Compares declared and actual indexes, creating missing ones if {@code create} is set.
+     */
+    public IndexReport verify(boolean create) {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        IndexReport report = new IndexReport();
+
+        for (Class<?> type : DOCUMENTS) {
+            String collection = mongoTemplate.getCollectionName(type);
+            List<Document> existing = new ArrayList<>();
+            mongoTemplate.getCollection(collection).listIndexes().into(existing);
+
+            for (IndexDefinitionHolder declared : declaredIndexes(resolver, type)) {
+                Document match = removeByKeys(existing, declared.getIndexKeys());
+                String name = collection + "." + indexName(declared);
+                if (match == null) {
+                    if (create) {
+                        mongoTemplate.indexOps(collection).ensureIndex(declared);
+                        report.getCreated().add(name);
+                    } else {
+                        report.getMissing().add(name);
+                    }
+                } else if (!sameOptions(declared.getIndexOptions(), match)) {
+                    report.getMismatched().add(name);
+                }
+            }
+
+            for (Document undeclared : existing) {
+                if (!"_id_".equals(undeclared.getString("name"))) {
+                    report.getUnexpected().add(collection + "." + undeclared.getString("name"));
+                }
+            }
+        }
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Iterable<IndexDefinitionHolder> declaredIndexes(IndexResolver resolver, Class<?> type) {
+        return (Iterable<IndexDefinitionHolder>) resolver.resolveIndexFor(type);
+    }
+
+    private static String indexName(IndexDefinitionHolder declared) {
+        Object name = declared.getIndexOptions().get("name");
+        return name != null ? name.toString() : declared.getIndexKeys().toJson();
+    }
+
+    // Removes and returns the existing index with the same key pattern, so what is left over is undeclared
+    private static Document removeByKeys(List<Document> existing, Document keys) {
+        for (Iterator<Document> it = existing.iterator(); it.hasNext(); ) {
+            Document index = it.next();
+            if (sameKeys(keys, index.get("key", Document.class))) {
+                it.remove();
+                return index;
+            }
+        }
+        return null;
+    }
+
+    // Key order matters; directions may come back from the server as int, long or double
+    private static boolean sameKeys(Document declared, Document actual) {
+        if (actual == null || declared.size() != actual.size()) {
+            return false;
+        }
+        Iterator<Map.Entry<String, Object>> actualKeys = actual.entrySet().iterator();
+        for (Map.Entry<String, Object> key : declared.entrySet()) {
+            Map.Entry<String, Object> other = actualKeys.next();
+            if (!key.getKey().equals(other.getKey()) || !sameValue(key.getValue(), other.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameOptions(Document declared, Document actual) {
+        return flag(declared, "unique") == flag(actual, "unique")
+                && flag(declared, "sparse") == flag(actual, "sparse")
+                && sameValue(declared.get("expireAfterSeconds"), actual.get("expireAfterSeconds"));
+    }
+
+    private static boolean flag(Document document, String option) {
+        return Boolean.TRUE.equals(document.get(option));
+    }
+
+    private static boolean sameValue(Object a, Object b) {
+        if (a instanceof Number x && b instanceof Number y) {
+            return x.longValue() == y.longValue();
+        }
+        return Objects.equals(a, b);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.ecommerce.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Winning plan for one query shape, as reported by {@code explain}.
+ */
+@Data
+@AllArgsConstructor
+public class QueryPlan {
+
+    private String query;
+
+    private String collection;
+
+    private String plan; // Stages from the root down, e.g. "FETCH > IXSCAN(orderId_1)"
+
+    private boolean collectionScan;
+
+    private boolean blockingSort; // Sorted in memory because no index provides the order
+
+    // Either one means the query's cost grows with the collection rather than the result
+    public boolean isUnindexed() {
+        return collectionScan || blockingSort;
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.ecommerce.index;
+
+import com.example.ecommerce.dto.PaymentWebhookRequest;
+import com.example.ecommerce.dto.ProductImportRow;
+import com.example.ecommerce.model.Cart;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.OrderItem;
+import com.example.ecommerce.model.Payment;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.model.StockReservation;
+import com.example.ecommerce.repository.CartQueries;
+import com.example.ecommerce.repository.OrderQueries;
+import com.example.ecommerce.repository.ProductQueries;
+import com.example.ecommerce.repository.ReservationQueries;
+import com.example.ecommerce.service.ExportService;
+import com.example.ecommerce.service.PaymentOutboxDispatcher;
+import com.example.ecommerce.service.PaymentService;
+import com.example.ecommerce.service.ProductImportService;
+import com.example.ecommerce.service.StockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Runs {@code explain} on the shape of every query the repositories and services issue
+ * and flags any whose winning plan scans the whole collection or sorts in memory. Plans
+ * depend only on the indexes, not the data, so this works against an empty database.
+ *
+ * <p>Add a shape here when adding a repository method or a hand-built query. Hand-built
+ * queries are listed through the static factory the code issues them from, so a changed
+ * filter is explained as it is; derived repository queries are spelled out, since Spring
+ * builds those from the method name. {@code QueryPlanShapesTest} fails for repository
+ * methods without a shape. Full scans that are intended (the product export, the search
+ * index build) are not listed; the order export reads a {@code createdAt} range and is.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QueryPlanGuard {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${mongodb.query-plans.check-on-startup:true}")
+    private boolean checkOnStartup;
+
+    @Value("${mongodb.query-plans.fail-on-unindexed:false}")
+    private boolean failOnUnindexed;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkOnStartup() {
+        if (!checkOnStartup) {
+            return;
+        }
+        List<QueryPlan> unindexed = check().stream()
+                .filter(QueryPlan::isUnindexed)
+                .collect(Collectors.toList());
+        if (unindexed.isEmpty()) {
+            log.info("Query plan check passed: no collection scans or in-memory sorts");
+            return;
+        }
+
+        String names = unindexed.stream().map(QueryPlan::getQuery).collect(Collectors.joining(", "));
+        if (failOnUnindexed) {
+            throw new IllegalStateException("Queries without a usable index: " + names);
+        }
+        log.warn("Queries without a usable index: {}", names);
+    }
+
+    /**
+     * Explains every known query shape and returns the winning plans.
+     */
+    public List<QueryPlan> check() {
+        List<QueryPlan> plans = new ArrayList<>();
+        for (Shape shape : shapes()) {
+            String collection = mongoTemplate.getCollectionName(shape.type());
+            Document explain = mongoTemplate.getCollection(collection)
+                    .find(shape.query().getQueryObject())
+                    .sort(shape.query().getSortObject())
+                    .limit(shape.query().getLimit())
+                    .explain();
+
+            List<String> stages = new ArrayList<>();
+            collectStages(explain.get("queryPlanner", Document.class).get("winningPlan"), stages);
+            plans.add(new QueryPlan(shape.name(), collection, String.join(" > ", stages),
+                    stages.stream().anyMatch(stage -> stage.startsWith("COLLSCAN")),
+                    // SORT_MERGE only merges index-ordered branches, so it is not a blocking sort
+                    stages.contains("SORT")));
+        }
+        return plans;
+    }
+
+    static List<String> shapeNames() {
+        return shapes().stream().map(Shape::name).collect(Collectors.toList());
+    }
+
+    // Placeholder values are fine: only the shape of the filter and sort affects the plan
+    private static List<Shape> shapes() {
+        Instant now = Instant.now();
+        return List.of(
+                new Shape("ProductQueries.pageAfter", Product.class, ProductQueries.pageAfter("0", 21)),
+                new Shape("ProductQueries.byIds", Product.class, ProductQueries.byIds(List.of("0"))),
+                new Shape("ProductImportService.matchQuery(id)", Product.class,
+                        ProductImportService.matchQuery(ProductImportRow.builder().id("0").sku("sku").build())),
+                new Shape("ProductImportService.matchQuery(sku)", Product.class,
+                        ProductImportService.matchQuery(ProductImportRow.builder().sku("sku").build())),
+                new Shape("ProductImportService.byIdsOrSkus", Product.class,
+                        ProductImportService.byIdsOrSkus(List.of("0"), List.of("sku"))),
+                new Shape("CartQueries.byUser", Cart.class,
+                        CartQueries.byUser("user")),
+                new Shape("ReservationQueries.byUserAndProduct", StockReservation.class,
+                        ReservationQueries.byUserAndProduct("user", "product")),
+                new Shape("ReservationQueries.byUser", StockReservation.class,
+                        ReservationQueries.byUser("user")),
+                new Shape("ReservationQueries.unclaimed", StockReservation.class,
+                        ReservationQueries.unclaimed("user", List.of("product"))),
+                new Shape("ReservationQueries.unclaimed(user)", StockReservation.class,
+                        ReservationQueries.unclaimed("user")),
+                new Shape("ReservationQueries.expired", StockReservation.class,
+                        ReservationQueries.expired(now, 500)),
+                new Shape("ReservationQueries.expiredByIds", StockReservation.class,
+                        ReservationQueries.expiredByIds(List.of("0"), now)),
+                new Shape("ReservationQueries.claimedBy", StockReservation.class,
+                        ReservationQueries.claimedBy("token")),
+                new Shape("ReservationQueries.claimedBefore", StockReservation.class,
+                        ReservationQueries.claimedBefore(now)),
+                new Shape("StockService.availableAtLeast", Product.class,
+                        StockService.availableAtLeast("0", 1)),
+                new Shape("StockService.reservedSnapshot", Product.class,
+                        StockService.reservedSnapshot(List.of("0"))),
+                new Shape("OrderQueries.byId", Order.class, OrderQueries.byId("0")),
+                new Shape("OrderQueries.byIdWithStatus", Order.class, OrderQueries.byIdWithStatus("0", "CREATED")),
+                new Shape("OrderQueries.userOrdersBefore", Order.class,
+                        OrderQueries.userOrdersBefore("user", now, "0", 21)),
+                new Shape("ExportService.ordersCreatedBetween", Order.class,
+                        ExportService.ordersCreatedBetween(now, now)),
+                new Shape("OrderItemRepository.findByOrderId", OrderItem.class,
+                        Query.query(Criteria.where("orderId").is("order"))),
+                new Shape("OrderItemRepository.deleteByOrderIdIn", OrderItem.class,
+                        Query.query(Criteria.where("orderId").in("order"))),
+                new Shape("PaymentRepository.findByOrderId", Payment.class,
+                        Query.query(Criteria.where("orderId").is("order"))),
+                new Shape("PaymentRepository.findByPaymentId", Payment.class,
+                        Query.query(Criteria.where("paymentId").is("payment"))),
+                new Shape("PaymentRepository.countByStatus", Payment.class,
+                        Query.query(Criteria.where("status").is("PENDING"))),
+                new Shape("PaymentService.replaceableBy", Payment.class,
+                        PaymentService.replaceableBy(PaymentWebhookRequest.builder()
+                                .orderId("order").status("SUCCESS").build())),
+                new Shape("PaymentService.outcomesOf", Payment.class,
+                        PaymentService.outcomesOf(List.of("order"))),
+                new Shape("PaymentOutboxDispatcher.claimBatch", Payment.class,
+                        Query.query(PaymentOutboxDispatcher.due(now))
+                                .with(Sort.by(Sort.Direction.ASC, "delivery.nextAttemptAt"))
+                                .limit(50)));
+    }
+
+    // Depth-first over the plan tree; covers inputStage, inputStages and the queryPlan wrapper of newer servers
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage instanceof String name) {
+                Object indexName = document.get("indexName");
+                stages.add(indexName != null ? name + "(" + indexName + ")" : name);
+            }
+            for (Object child : document.values()) {
+                collectStages(child, stages);
+            }
+        } else if (node instanceof List<?> children) {
+            for (Object child : children) {
+                collectStages(child, stages);
+            }
+        }
+    }
+
+    private record Shape(String name, Class<?> type, Query query) {
+    }
+}
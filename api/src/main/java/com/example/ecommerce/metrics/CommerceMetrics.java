@@ -0,0 +1,140 @@
+package com.example.ecommerce.metrics;
+
+import com.example.ecommerce.webhook.PaymentWebhookIngester;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Business meters for orders, carts and payments. Every meter is registered once up
+ * front with fixed tags, so recording never builds tag arrays or looks meters up.
+ */
+@Component
+public class CommerceMetrics {
+
+    private final Counter ordersCreated;
+    private final Counter ordersCancelled;
+    private final Counter ordersPaid;
+    private final Counter ordersPaymentFailed;
+    private final Counter stockCheckFailures;
+    private final Timer checkout;
+    private final Timer paymentRoundTripSuccess;
+    private final Timer paymentRoundTripFailed;
+    private final DistributionSummary cartSize;
+    private final DistributionSummary orderLines;
+    private final Map<PaymentWebhookIngester.Result, Counter> webhooks =
+            new EnumMap<>(PaymentWebhookIngester.Result.class);
+    private final AtomicLong pendingPayments = new AtomicLong();
+
+    public CommerceMetrics(MeterRegistry registry) {
+        ordersCreated = orderEvent(registry, "created");
+        ordersCancelled = orderEvent(registry, "cancelled");
+        ordersPaid = orderEvent(registry, "paid");
+        ordersPaymentFailed = orderEvent(registry, "payment_failed");
+
+        stockCheckFailures = Counter.builder("ecommerce.stock.check.failures")
+                .description("Checkouts rejected for insufficient stock")
+                .register(registry);
+
+        checkout = Timer.builder("ecommerce.checkout")
+                .description("Time to turn a cart into an order")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+
+        paymentRoundTripSuccess = paymentRoundTrip(registry, "success");
+        paymentRoundTripFailed = paymentRoundTrip(registry, "failed");
+
+        cartSize = lineCount(registry, "ecommerce.cart.size", "Line items in a cart when it is viewed");
+        orderLines = lineCount(registry, "ecommerce.order.lines", "Line items in a cart at checkout");
+
+        for (PaymentWebhookIngester.Result result : PaymentWebhookIngester.Result.values()) {
+            webhooks.put(result, Counter.builder("ecommerce.payment.webhooks")
+                    .description("Payment webhooks received, by how the ingester handled them")
+                    .tag("result", result.name().toLowerCase())
+                    .register(registry));
+        }
+
+        Gauge.builder("ecommerce.payments.pending", pendingPayments, AtomicLong::get)
+                .description("Payments waiting for a result from the payment service")
+                .register(registry);
+    }
+
+    public void orderCreated(int lines, long elapsedNanos) {
+        ordersCreated.increment();
+        orderLines.record(lines);
+        checkout.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Bulk orders skip checkout, so they only count as created
+    public void bulkOrdersCreated(int orders) {
+        ordersCreated.increment(orders);
+    }
+
+    public void orderCancelled() {
+        ordersCancelled.increment();
+    }
+
+    public void stockCheckFailed() {
+        stockCheckFailures.increment();
+    }
+
+    public void cartViewed(int lines) {
+        cartSize.record(lines);
+    }
+
+    /**
+     * Records a payment result that moved a payment out of PENDING, timed from payment creation.
+     * The round trip is null for results that did not come back from the payment service.
+     */
+    public void paymentCompleted(boolean success, Duration roundTrip) {
+        (success ? ordersPaid : ordersPaymentFailed).increment();
+        if (roundTrip != null) {
+            (success ? paymentRoundTripSuccess : paymentRoundTripFailed).record(roundTrip);
+        }
+    }
+
+    public void webhookReceived(PaymentWebhookIngester.Result result) {
+        webhooks.get(result).increment();
+    }
+
+    public void setPendingPayments(long count) {
+        pendingPayments.set(count);
+    }
+
+    private static Counter orderEvent(MeterRegistry registry, String event) {
+        return Counter.builder("ecommerce.orders")
+                .description("Order lifecycle events")
+                .tag("event", event)
+                .register(registry);
+    }
+
+    private static Timer paymentRoundTrip(MeterRegistry registry, String outcome) {
+        return Timer.builder("ecommerce.payment.round.trip")
+                .description("Time from creating a payment to applying its result")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(100))
+                .maximumExpectedValue(Duration.ofMinutes(10))
+                .register(registry);
+    }
+
+    private static DistributionSummary lineCount(MeterRegistry registry, String name, String description) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100.0)
+                .register(registry);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.ecommerce.migration;
+
+import com.example.ecommerce.model.Cart;
+import com.example.ecommerce.model.CartItem;
+import com.example.ecommerce.repository.CartQueries;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves legacy {@code cart_items} rows into per-user {@code carts} documents, in batches,
+ * while the application keeps serving traffic.
+ *
+ * <p>Each row is merged with the same add-to-line update the cart service uses, so carts
+ * users have already started in the new collection keep their lines. The update also
+ * records the row's id in the cart's {@code migratedItems} and only applies if it is not
+ * there yet, so a run interrupted before the rows were deleted can simply be started again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CartMigration {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Runs the migration to completion and returns the number of cart rows migrated.
+     */
+    public long run(int batchSize) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalArgumentException("Cart migration is already running");
+        }
+        try {
+            long migrated = 0;
+            while (true) {
+                // Migrated rows are deleted, so every batch starts from the front
+                Query query = new Query()
+                        .with(Sort.by(Sort.Direction.ASC, "_id"))
+                        .limit(batchSize);
+                List<CartItem> items = mongoTemplate.find(query, CartItem.class);
+                if (items.isEmpty()) {
+                    break;
+                }
+                migrateBatch(items);
+                migrated += items.size();
+                log.info("Cart migration: {} cart items migrated", migrated);
+            }
+            return migrated;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void migrateBatch(List<CartItem> items) {
+        // Ordered, so each user's cart exists before their rows are merged into it
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Cart.class);
+        Set<String> users = new HashSet<>();
+        List<String> itemIds = new ArrayList<>(items.size());
+        for (CartItem item : items) {
+            if (users.add(item.getUserId())) {
+                ops.upsert(CartQueries.byUser(item.getUserId()), new Update().setOnInsert("lines", List.of()));
+            }
+            // The old model allowed duplicate rows per product; each adds to the same line
+            ops.updateOne(CartQueries.notMigrated(item.getUserId(), item.getId()),
+                    CartQueries.addMigratedLine(item.getId(), item.getProductId(), item.getQuantity()));
+            itemIds.add(item.getId());
+        }
+        ops.execute();
+
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(itemIds)), CartItem.class);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.ecommerce.migration;
+
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.OrderItem;
+import com.example.ecommerce.model.OrderLine;
+import com.example.ecommerce.model.Payment;
+import com.example.ecommerce.model.PaymentSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Folds {@code order_items} rows and the matching {@code payments} record into their
+ * {@code orders} documents, in batches, while the application keeps serving traffic.
+ *
+ * <p>Each update only sets fields that are still missing, so it never overwrites an
+ * order created in embedded mode or a payment summary written by a concurrent webhook.
+ * The source {@code order_items} rows are left in place.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEmbeddingMigration {
+
+    // Orders younger than this may still be having their order_items rows written
+    private static final Duration SETTLE_TIME = Duration.ofMinutes(1);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Runs the migration to completion and returns the number of orders migrated.
+     */
+    public long run(int batchSize) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalArgumentException("Order embedding migration is already running");
+        }
+        try {
+            long migrated = 0;
+            String lastId = null;
+            Instant cutoff = Instant.now().minus(SETTLE_TIME);
+            while (true) {
+                List<String> orderIds = nextBatch(lastId, cutoff, batchSize);
+                if (orderIds.isEmpty()) {
+                    break;
+                }
+                migrateBatch(orderIds);
+                migrated += orderIds.size();
+                lastId = orderIds.get(orderIds.size() - 1);
+                log.info("Order embedding migration: {} orders migrated", migrated);
+            }
+            return migrated;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private List<String> nextBatch(String lastId, Instant cutoff, int batchSize) {
+        Criteria criteria = Criteria.where("items").exists(false).and("createdAt").lt(cutoff);
+        if (lastId != null) {
+            criteria = criteria.and("_id").gt(lastId);
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(batchSize);
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Order.class).stream()
+                .map(Order::getId)
+                .collect(Collectors.toList());
+    }
+
+    private void migrateBatch(List<String> orderIds) {
+        Map<String, List<OrderLine>> linesByOrder = new HashMap<>();
+        for (OrderItem item : mongoTemplate.find(
+                Query.query(Criteria.where("orderId").in(orderIds)), OrderItem.class)) {
+            linesByOrder.computeIfAbsent(item.getOrderId(), id -> new ArrayList<>()).add(OrderLine.from(item));
+        }
+
+        Map<String, Payment> paymentsByOrder = new HashMap<>();
+        for (Payment payment : mongoTemplate.find(
+                Query.query(Criteria.where("orderId").in(orderIds)), Payment.class)) {
+            paymentsByOrder.put(payment.getOrderId(), payment);
+        }
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class);
+        for (String orderId : orderIds) {
+            ops.updateOne(
+                    Query.query(Criteria.where("_id").is(orderId).and("items").exists(false)),
+                    Update.update("items", linesByOrder.getOrDefault(orderId, List.of())));
+
+            Payment payment = paymentsByOrder.get(orderId);
+            if (payment != null) {
+                ops.updateOne(
+                        Query.query(Criteria.where("_id").is(orderId).and("payment").exists(false)),
+                        Update.update("payment", PaymentSummary.from(payment)));
+            }
+        }
+        ops.execute();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ecommerce.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A user's cart: one document per user, keyed by the user id, with its lines embedded.
+ * Lines are only changed through single-document updates, see {@code CartQueries}.
+ */
+@Document(collection = "carts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Cart {
+
+    @Id
+    private String userId;
+
+    private List<CartLine> lines;
+
+    private Instant updatedAt;
+
+    // Ids of the legacy cart_items rows CartMigration has merged into this cart
+    private List<String> migratedItems;
+
+    public CartLine findLine(String productId) {
+        if (lines == null) {
+            return null;
+        }
+        for (CartLine line : lines) {
+            if (line.getProductId().equals(productId)) {
+                return line;
+            }
+        }
+        return null;
+    }
+}
@@ -8,6 +8,10 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+/**
+ * Legacy per-line cart document. Carts are now stored as {@link Cart}; this type is
+ * only read by {@code CartMigration} to move existing rows over.
+ */
 @Document(collection = "cart_items")
 @Data
 @Builder
@@ -0,0 +1,20 @@
+package com.example.ecommerce.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Line embedded in a {@link Cart} document; there is at most one line per product.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartLine {
+
+    private String productId;
+
+    private Integer quantity;
+}
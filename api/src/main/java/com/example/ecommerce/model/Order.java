@@ -6,12 +6,16 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
+import java.util.List;
 
 @Document(collection = "orders")
+// Matches the history sort (createdAt, then _id, both descending) so pages never sort in memory
+@CompoundIndex(name = "user_created_idx", def = "{'userId': 1, 'createdAt': -1, '_id': -1}")
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,13 +25,17 @@ public class Order {
     @Id
     private String id;
 
-    @Indexed
-    private String userId;
+    private String userId; // Served by user_created_idx, which also covers userId-only lookups
 
     private Double totalAmount;
 
     private String status; // CREATED, PAID, FAILED, CANCELLED
 
     @CreatedDate
+    @Indexed
     private Instant createdAt;
+
+    private List<OrderLine> items; // Embedded line items; null for orders still stored in order_items
+
+    private PaymentSummary payment;
 }
@@ -0,0 +1,35 @@
+package com.example.ecommerce.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Line item embedded in an {@link Order} document.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLine {
+
+    private String productId;
+
+    private Integer quantity;
+
+    private Double price; // Price at time of order (snapshot)
+
+    public static OrderLine from(OrderItem item) {
+        return new OrderLine(item.getProductId(), item.getQuantity(), item.getPrice());
+    }
+
+    public OrderItem toOrderItem(String orderId) {
+        return OrderItem.builder()
+                .orderId(orderId)
+                .productId(productId)
+                .quantity(quantity)
+                .price(price)
+                .build();
+    }
+}
@@ -1,17 +1,20 @@
 package com.example.ecommerce.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
 
 @Document(collection = "payments")
+@CompoundIndex(name = "delivery_due_idx", def = "{'delivery.status': 1, 'delivery.nextAttemptAt': 1}")
 @Data
 @Builder
 @NoArgsConstructor
@@ -26,10 +29,15 @@ public class Payment {
 
     private Double amount;
 
+    @Indexed
     private String status; // PENDING, SUCCESS, FAILED
 
+    @Indexed
     private String paymentId; // External payment service ID
 
     @CreatedDate
     private Instant createdAt;
+
+    @JsonIgnore
+    private PaymentDelivery delivery; // Queued call to the payment service, claimed by PaymentOutboxDispatcher
 }
@@ -0,0 +1,41 @@
+package com.example.ecommerce.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Outbox state of the call to the payment service, embedded in its {@link Payment} so the
+ * payment and its queued delivery are written together.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentDelivery {
+
+    private String status; // PENDING, SENDING, DELIVERED, FAILED
+
+    private Integer attempts;
+
+    private Instant nextAttemptAt;
+
+    private String claimToken;
+
+    private Instant lockedUntil;
+
+    private String lastError;
+
+    private Instant deliveredAt;
+
+    public static PaymentDelivery pending(Instant now) {
+        return PaymentDelivery.builder()
+                .status("PENDING")
+                .attempts(0)
+                .nextAttemptAt(now)
+                .build();
+    }
+}
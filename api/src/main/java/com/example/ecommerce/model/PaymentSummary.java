@@ -0,0 +1,49 @@
+package com.example.ecommerce.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Copy of the order's {@link Payment} embedded in the {@link Order} document.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentSummary {
+
+    private String id; // Id of the payments record
+
+    private Double amount;
+
+    private String status; // PENDING, SUCCESS, FAILED
+
+    private String paymentId; // External payment service ID
+
+    private Instant createdAt;
+
+    public static PaymentSummary from(Payment payment) {
+        return PaymentSummary.builder()
+                .id(payment.getId())
+                .amount(payment.getAmount())
+                .status(payment.getStatus())
+                .paymentId(payment.getPaymentId())
+                .createdAt(payment.getCreatedAt())
+                .build();
+    }
+
+    public Payment toPayment(String orderId) {
+        return Payment.builder()
+                .id(id)
+                .orderId(orderId)
+                .amount(amount)
+                .status(status)
+                .paymentId(paymentId)
+                .createdAt(createdAt)
+                .build();
+    }
+}
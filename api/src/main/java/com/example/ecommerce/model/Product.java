@@ -0,0 +1,50 @@
+package com.example.ecommerce.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "products")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Product {
+
+    @Id
+    private String id;
+
+    @Indexed(unique = true, sparse = true)
+    private String sku; // Supplier SKU; key for bulk imports, absent on products created one by one
+
+    private String name;
+
+    private String description;
+
+    private Double price;
+
+    private Integer stock; // Physical stock
+
+    // Indexed so reconciliation can find every product with units held. Internal: not part of the API
+    @Indexed(sparse = true)
+    @JsonIgnore
+    private Integer reserved; // Units held by unexpired cart reservations; null means none
+
+    @Version
+    @JsonIgnore
+    private Long version; // Bumped by every write to a field the API shows; product ETags derive from it
+
+    @JsonIgnore
+    private Long reservedVersion; // Bumped by every write to reserved; guards reconciliation
+
+    // Stock that is neither sold nor held for someone's cart
+    public int availableStock() {
+        return stock - (reserved == null ? 0 : reserved);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.ecommerce.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Units of a product held for a user's cart until {@code expiresAt}. This ledger is the
+ * record of what is held; {@link Product#getReserved()} keeps the same units as a running
+ * total so available stock is read from the product alone, and is recomputed from the
+ * ledger by {@code ReservationService#reconcile}.
+ */
+@Document(collection = "stock_reservations")
+// A missing claimToken is indexed as null: one unclaimed hold per user and product, and
+// claimed entries stay apart from it until they are deleted or handed back
+@CompoundIndex(name = "user_product_idx", def = "{'userId': 1, 'productId': 1, 'claimToken': 1}", unique = true)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservation {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private String productId;
+
+    private Integer quantity;
+
+    @Indexed
+    private Instant expiresAt; // Extended on every add to cart; the sweeper releases holds past it
+
+    @Indexed(sparse = true)
+    private String claimToken; // Set by the checkout or sweep that is removing this hold
+
+    @Indexed(sparse = true)
+    private Instant claimedAt;
+}
@@ -0,0 +1,18 @@
+package com.example.ecommerce.reactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveClientConfig {
+
+    @Bean
+    public WebClient paymentWebClient(WebClient.Builder builder,
+                                      @Value("${payment.service.url}") String paymentServiceUrl) {
+        return builder.baseUrl(paymentServiceUrl).build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.ecommerce.reactive.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link com.example.ecommerce.logging.RequestSummaryFilter}:
+ * one INFO line per request once the response has completed.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j(topic = "com.example.ecommerce.request")
+public class RequestSummaryWebFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (path.startsWith("/actuator")) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            if (log.isInfoEnabled()) {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                log.info("{} {} {} {}ms", exchange.getRequest().getMethod(), path,
+                        status == null ? 200 : status.value(), (System.nanoTime() - start) / 1_000_000);
+            }
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.ecommerce.reactive.controller;
+
+import com.example.ecommerce.index.IndexReport;
+import com.example.ecommerce.index.IndexVerifier;
+import com.example.ecommerce.index.QueryPlan;
+import com.example.ecommerce.index.QueryPlanGuard;
+import com.example.ecommerce.migration.CartMigration;
+import com.example.ecommerce.migration.OrderEmbeddingMigration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAdminController {
+
+    private final OrderEmbeddingMigration orderEmbeddingMigration;
+    private final CartMigration cartMigration;
+    private final IndexVerifier indexVerifier;
+    private final QueryPlanGuard queryPlanGuard;
+
+    @PostMapping("/migrations/embed-order-items")
+    public Mono<Map<String, Object>> embedOrderItems(@RequestParam(defaultValue = "500") int batchSize) {
+        log.info("POST /api/admin/migrations/embed-order-items - batchSize={}", batchSize);
+        if (batchSize < 1 || batchSize > 10000) {
+            throw new IllegalArgumentException("batchSize must be between 1 and 10000");
+        }
+
+        // The migration is a blocking batch job; keep it off the event loop
+        return Mono.fromCallable(() -> orderEmbeddingMigration.run(batchSize))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(migrated -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("message", "Order embedding migration completed");
+                    response.put("migrated", migrated);
+                    return response;
+                });
+    }
+
+    @PostMapping("/migrations/carts")
+    public Mono<Map<String, Object>> migrateCarts(@RequestParam(defaultValue = "500") int batchSize) {
+        log.info("POST /api/admin/migrations/carts - batchSize={}", batchSize);
+        if (batchSize < 1 || batchSize > 10000) {
+            throw new IllegalArgumentException("batchSize must be between 1 and 10000");
+        }
+
+        return Mono.fromCallable(() -> cartMigration.run(batchSize))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(migrated -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("message", "Cart migration completed");
+                    response.put("migrated", migrated);
+                    return response;
+                });
+    }
+
+    // Both checks use the blocking template
+    @GetMapping("/indexes")
+    public Mono<IndexReport> getIndexDrift() {
+        log.debug("GET /api/admin/indexes");
+        return Mono.fromCallable(() -> indexVerifier.verify(false))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @GetMapping("/indexes/query-plans")
+    public Mono<List<QueryPlan>> getQueryPlans() {
+        log.debug("GET /api/admin/indexes/query-plans");
+        return Mono.fromCallable(queryPlanGuard::check)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.ecommerce.reactive.controller;
+
+import com.example.ecommerce.dto.AddToCartRequest;
+import com.example.ecommerce.dto.CartItemResponse;
+import com.example.ecommerce.reactive.service.ReactiveCartService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cart")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveCartController {
+
+    private final ReactiveCartService cartService;
+
+    @PostMapping("/add")
+    public Mono<ResponseEntity<CartItemResponse>> addToCart(@Valid @RequestBody AddToCartRequest request) {
+        log.debug("POST /api/cart/add - Adding item to cart for user: {}", request.getUserId());
+        return cartService.addToCart(request)
+                .map(cartItem -> new ResponseEntity<>(cartItem, HttpStatus.CREATED));
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<List<CartItemResponse>> getCartItems(
+            @PathVariable String userId,
+            @RequestParam(required = false) String fields) {
+        log.debug("GET /api/cart/{} - Fetching cart items", userId);
+        return cartService.getCartItems(userId, fields);
+    }
+
+    @DeleteMapping("/{userId}/clear")
+    public Mono<Map<String, String>> clearCart(@PathVariable String userId) {
+        log.debug("DELETE /api/cart/{}/clear - Clearing cart", userId);
+        return cartService.clearCart(userId).then(Mono.fromSupplier(() -> {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Cart cleared successfully");
+            return response;
+        }));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.ecommerce.reactive.controller;
+
+import com.example.ecommerce.dto.BulkOrderRequest;
+import com.example.ecommerce.dto.BulkOrderResponse;
+import com.example.ecommerce.dto.BulkOrderResult;
+import com.example.ecommerce.dto.CreateOrderRequest;
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.OrderResponse;
+import com.example.ecommerce.dto.OrderSummary;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.reactive.service.ReactiveExportService;
+import com.example.ecommerce.reactive.service.ReactiveOrderService;
+import com.example.ecommerce.service.OrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/orders")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOrderController {
+
+    private final ReactiveOrderService orderService;
+    private final ReactiveExportService exportService;
+    private final OrderService bulkOrderService;
+
+    @PostMapping
+    public Mono<ResponseEntity<OrderResponse>> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+        log.debug("POST /api/orders - Creating order for user: {}", request.getUserId());
+        return orderService.createOrder(request.getUserId())
+                .map(order -> new ResponseEntity<>(order, HttpStatus.CREATED));
+    }
+
+    @PostMapping(value = "/bulk", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<BulkOrderResponse> createOrders(@Valid @RequestBody BulkOrderRequest request) {
+        log.debug("POST /api/orders/bulk - Creating {} orders", request.getOrders().size());
+        return bulkResults(request).collectList().map(results -> {
+            int created = (int) results.stream().filter(result -> "CREATED".equals(result.getStatus())).count();
+            return BulkOrderResponse.builder()
+                    .created(created)
+                    .rejected(results.size() - created)
+                    .results(results)
+                    .build();
+        });
+    }
+
+    @PostMapping(value = "/bulk", produces = "application/x-ndjson")
+    public Flux<BulkOrderResult> streamCreateOrders(@Valid @RequestBody BulkOrderRequest request) {
+        log.debug("POST /api/orders/bulk - Streaming results for {} orders", request.getOrders().size());
+        return bulkResults(request);
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public Flux<Order> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        log.debug("GET /api/orders/export - Streaming orders from {} to {}", from, to);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        return exportService.exportOrders(from, to);
+    }
+
+    @GetMapping("/{orderId}")
+    public Mono<OrderResponse> getOrderById(@PathVariable String orderId) {
+        log.debug("GET /api/orders/{} - Fetching order", orderId);
+        return orderService.getOrderById(orderId);
+    }
+
+    @GetMapping("/user/{userId}")
+    public Mono<CursorPage<OrderSummary>> getUserOrders(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields) {
+        log.debug("GET /api/orders/user/{} - Fetching user orders", userId);
+        return orderService.getUserOrders(userId, cursor, size, fields);
+    }
+
+    @PostMapping("/{orderId}/cancel")
+    public Mono<OrderResponse> cancelOrder(@PathVariable String orderId) {
+        log.debug("POST /api/orders/{}/cancel - Cancelling order", orderId);
+        return orderService.cancelOrder(orderId);
+    }
+
+    // Bulk creation is a blocking batch job built on OrderService; keep it off the event loop
+    private Flux<BulkOrderResult> bulkResults(BulkOrderRequest request) {
+        return Flux.<BulkOrderResult>create(sink -> {
+                    try {
+                        bulkOrderService.createOrders(request.getOrders(), chunk -> chunk.forEach(sink::next));
+                        sink.complete();
+                    } catch (RuntimeException e) {
+                        sink.error(e);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
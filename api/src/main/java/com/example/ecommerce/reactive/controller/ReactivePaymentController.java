@@ -0,0 +1,30 @@
+package com.example.ecommerce.reactive.controller;
+
+import com.example.ecommerce.dto.PaymentRequest;
+import com.example.ecommerce.model.Payment;
+import com.example.ecommerce.reactive.service.ReactivePaymentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/payments")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactivePaymentController {
+
+    private final ReactivePaymentService paymentService;
+
+    @PostMapping("/create")
+    public Mono<ResponseEntity<Payment>> createPayment(@Valid @RequestBody PaymentRequest request) {
+        log.debug("POST /api/payments/create - Creating payment for order: {}", request.getOrderId());
+        return paymentService.createPayment(request)
+                .map(payment -> new ResponseEntity<>(payment, HttpStatus.CREATED));
+    }
+}
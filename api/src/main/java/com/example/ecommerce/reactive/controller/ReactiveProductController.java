@@ -0,0 +1,141 @@
+package com.example.ecommerce.reactive.controller;
+
+import com.example.ecommerce.cache.CatalogRevision;
+import com.example.ecommerce.controller.ETags;
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.ProductImportReport;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.reactive.service.ReactiveExportService;
+import com.example.ecommerce.reactive.service.ReactiveProductService;
+import com.example.ecommerce.service.ProductImportService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/products")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveProductController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final ReactiveProductService productService;
+    private final ReactiveExportService exportService;
+    private final ProductImportService productImportService;
+    private final CatalogRevision catalogRevision;
+
+    @PostMapping
+    public Mono<ResponseEntity<Product>> createProduct(@Valid @RequestBody Product product) {
+        log.debug("POST /api/products - Creating product: {}", product.getName());
+        return productService.createProduct(product)
+                .map(created -> new ResponseEntity<>(created, HttpStatus.CREATED));
+    }
+
+    // The ETag is taken before the read, so a concurrent write can only make it older than the page
+    @GetMapping
+    public Mono<ResponseEntity<CursorPage<Product>>> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.forCatalog(catalogRevision.current());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return Mono.just(ETags.notModified(etag));
+        }
+        log.debug("GET /api/products - Fetching products page");
+        return productService.getAllProducts(cursor, size)
+                .map(page -> ResponseEntity.ok().eTag(etag).body(page));
+    }
+
+    // A Flux<String> body is decoded line by line as it arrives
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public Mono<ProductImportReport> importNdjson(@RequestBody Flux<String> lines) {
+        log.debug("POST /api/products/import - Importing NDJSON");
+        return importLines(lines, ProductImportService.Format.NDJSON);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public Mono<ProductImportReport> importCsv(@RequestBody Flux<String> lines) {
+        log.debug("POST /api/products/import - Importing CSV");
+        return importLines(lines, ProductImportService.Format.CSV);
+    }
+
+    // With progress=true the response is NDJSON: a report every few thousand rows, then the complete one
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"}, params = "progress=true",
+            produces = "application/x-ndjson")
+    public Flux<ProductImportReport> importWithProgress(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestBody Flux<String> lines) {
+        log.debug("POST /api/products/import?progress=true - Importing {}", contentType);
+        ProductImportService.Format format = contentType.isCompatibleWith(TEXT_CSV)
+                ? ProductImportService.Format.CSV
+                : ProductImportService.Format.NDJSON;
+        return Flux.defer(() -> {
+            List<ProductImportReport> reports = new ArrayList<>();
+            ProductImportService.ImportSession session = productImportService.open(format, reports::add);
+            return lines.publishOn(Schedulers.boundedElastic())
+                    .concatMapIterable(line -> {
+                        session.accept(line);
+                        List<ProductImportReport> sent = List.copyOf(reports);
+                        reports.clear();
+                        return sent;
+                    })
+                    .concatWith(Mono.fromCallable(session::finish));
+        });
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public Flux<Product> exportProducts() {
+        log.debug("GET /api/products/export - Streaming product catalog");
+        return exportService.exportProducts();
+    }
+
+    @GetMapping("/cache/stats")
+    public Map<String, Object> getCacheStats() {
+        log.debug("GET /api/products/cache/stats - Fetching product cache stats");
+        return productService.getCacheStats();
+    }
+
+    // A cached product answers a matching If-None-Match without going to Mongo
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Product>> getProductById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("GET /api/products/{} - Fetching product", id);
+        return productService.getProductById(id)
+                .map(product -> ETags.respond(ifNoneMatch, ETags.forProduct(product), product));
+    }
+
+    @GetMapping("/search")
+    public Mono<List<Product>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        log.debug("GET /api/products/search?q={}&page={}", q, page);
+        return productService.searchProducts(q, page, size);
+    }
+
+    // The import writes with the blocking template, so lines are handed to it off the event loop
+    private Mono<ProductImportReport> importLines(Flux<String> lines, ProductImportService.Format format) {
+        return Mono.defer(() -> {
+            ProductImportService.ImportSession session = productImportService.open(format, null);
+            return lines.publishOn(Schedulers.boundedElastic())
+                    .doOnNext(session::accept)
+                    .then(Mono.fromCallable(session::finish));
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.ecommerce.reactive.repository;
+
+import com.example.ecommerce.model.Cart;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveCartRepository extends ReactiveMongoRepository<Cart, String> {
+}
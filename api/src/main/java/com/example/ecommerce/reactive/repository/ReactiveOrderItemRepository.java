@@ -0,0 +1,17 @@
+package com.example.ecommerce.reactive.repository;
+
+import com.example.ecommerce.model.OrderItem;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+public interface ReactiveOrderItemRepository extends ReactiveMongoRepository<OrderItem, String> {
+
+    Flux<OrderItem> findByOrderId(String orderId);
+
+    Mono<Void> deleteByOrderIdIn(Collection<String> orderIds);
+}
@@ -0,0 +1,12 @@
+package com.example.ecommerce.reactive.repository;
+
+import com.example.ecommerce.model.Payment;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactivePaymentRepository extends ReactiveMongoRepository<Payment, String> {
+
+    Mono<Payment> findByOrderId(String orderId);
+}
@@ -0,0 +1,104 @@
+package com.example.ecommerce.reactive.service;
+
+import com.example.ecommerce.dto.AddToCartRequest;
+import com.example.ecommerce.dto.CartItemResponse;
+import com.example.ecommerce.dto.FieldSelector;
+import com.example.ecommerce.dto.ProductSummary;
+import com.example.ecommerce.metrics.CommerceMetrics;
+import com.example.ecommerce.model.Cart;
+import com.example.ecommerce.model.CartLine;
+import com.example.ecommerce.reactive.repository.ReactiveCartRepository;
+import com.example.ecommerce.repository.CartQueries;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveCartService {
+
+    private final ReactiveCartRepository cartRepository;
+    private final ReactiveProductService productService;
+    private final ReactiveReservationService reservationService;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final CommerceMetrics metrics;
+
+    public Mono<CartItemResponse> addToCart(AddToCartRequest request) {
+        log.debug("Adding to cart: userId={}, productId={}, quantity={}",
+                request.getUserId(), request.getProductId(), request.getQuantity());
+
+        // Validate product exists, reading current stock rather than a cached copy
+        return productService.getFreshProductById(request.getProductId()).flatMap(product -> {
+            String userId = request.getUserId();
+            String productId = request.getProductId();
+            int quantity = request.getQuantity();
+            Mono<CartItemResponse> insufficient = Mono.error(() -> new IllegalArgumentException(
+                    "Insufficient stock available. Available: " + product.availableStock()));
+
+            // Hold the units until checkout or until the reservation expires, then bump the
+            // existing line or append a new one in one atomic update
+            return reservationService.hold(userId, productId, quantity)
+                    .filter(held -> held)
+                    .flatMap(held -> addToLine(userId, productId, quantity, product.getStock())
+                            // Nothing applied: the line exists and the new quantity would exceed physical stock
+                            .switchIfEmpty(Mono.defer(() -> reservationService.unhold(userId, productId, quantity)
+                                    .then(Mono.<Integer>empty()))))
+                    .map(lineQuantity -> CartItemResponse.builder()
+                            .productId(productId)
+                            .quantity(lineQuantity)
+                            .product(ProductSummary.from(product, ProductSummary.DEFAULT_FIELDS))
+                            .build())
+                    .switchIfEmpty(insufficient);
+        });
+    }
+
+    public Mono<List<CartItemResponse>> getCartItems(String userId, String fields) {
+        Set<String> selected = FieldSelector.parse(fields, ProductSummary.FIELDS, ProductSummary.DEFAULT_FIELDS);
+        return cartRepository.findById(userId)
+                .map(Cart::getLines)
+                .defaultIfEmpty(List.of())
+                .doOnNext(lines -> metrics.cartViewed(lines.size()))
+                .filter(lines -> !lines.isEmpty())
+                .flatMap(lines -> productService.getSummariesByIds(
+                                lines.stream().map(CartLine::getProductId).collect(Collectors.toList()), selected)
+                        .map(products -> lines.stream()
+                                .map(line -> CartItemResponse.builder()
+                                        .productId(line.getProductId())
+                                        .quantity(line.getQuantity())
+                                        .product(products.get(line.getProductId()))
+                                        .build())
+                                .collect(Collectors.toList())))
+                .defaultIfEmpty(List.of());
+    }
+
+    public Mono<Void> clearCart(String userId) {
+        log.debug("Clearing cart for user: {}", userId);
+        return cartRepository.deleteById(userId)
+                .then(reservationService.releaseAll(userId));
+    }
+
+    // The line's new quantity, or empty if an existing line would exceed maxQuantity
+    private Mono<Integer> addToLine(String userId, String productId, int quantity, int maxQuantity) {
+        // Emits the cart as it was before the update, nothing if the upsert created it
+        return mongoTemplate.findAndModify(
+                        CartQueries.byUser(userId),
+                        CartQueries.addToLine(productId, quantity, maxQuantity),
+                        FindAndModifyOptions.options().upsert(true),
+                        Cart.class)
+                .map(before -> Optional.ofNullable(before.findLine(productId)))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(before -> Mono.justOrEmpty(
+                        CartQueries.quantityAfterAdd(before.orElse(null), quantity, maxQuantity)));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ecommerce.reactive.service;
+
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reactive counterpart of {@link ExportService}: the same queries and cursor batch size,
+ * emitted as a {@link Flux} that WebFlux writes out as NDJSON with backpressure.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveExportService {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Value("${export.cursor-batch-size:500}")
+    private int cursorBatchSize;
+
+    public Flux<Product> exportProducts() {
+        Query query = new Query().cursorBatchSize(cursorBatchSize);
+        AtomicLong count = new AtomicLong();
+        return mongoTemplate.find(query, Product.class)
+                .doOnNext(product -> count.incrementAndGet())
+                .doOnComplete(() -> log.info("Exported {} products", count.get()));
+    }
+
+    public Flux<Order> exportOrders(Instant from, Instant to) {
+        Query query = ExportService.ordersCreatedBetween(from, to).cursorBatchSize(cursorBatchSize);
+        AtomicLong count = new AtomicLong();
+        return mongoTemplate.find(query, Order.class)
+                .doOnNext(order -> count.incrementAndGet())
+                .doOnComplete(() -> log.info("Exported {} orders created between {} and {}", count.get(), from, to));
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.ecommerce.reactive.service;
+
+import com.example.ecommerce.config.ReadRouting;
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.FieldSelector;
+import com.example.ecommerce.dto.OrderResponse;
+import com.example.ecommerce.dto.OrderSummary;
+import com.example.ecommerce.dto.PageCursor;
+import com.example.ecommerce.exception.InsufficientStockException;
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.metrics.CommerceMetrics;
+import com.example.ecommerce.model.*;
+import com.example.ecommerce.reactive.repository.ReactiveCartRepository;
+import com.example.ecommerce.reactive.repository.ReactiveOrderItemRepository;
+import com.example.ecommerce.reactive.repository.ReactiveOrderRepository;
+import com.example.ecommerce.reactive.repository.ReactivePaymentRepository;
+import com.example.ecommerce.repository.OrderQueries;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOrderService {
+
+    private final ReactiveOrderRepository orderRepository;
+    private final ReactiveOrderItemRepository orderItemRepository;
+    private final ReactiveCartRepository cartRepository;
+    private final ReactivePaymentRepository paymentRepository;
+    private final ReactiveProductService productService;
+    private final ReactiveReservationService reservationService;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ReadRouting readRouting;
+    private final CommerceMetrics metrics;
+
+    // When true, new orders embed their line items instead of writing order_items rows
+    @Value("${order.storage.embedded:false}")
+    private boolean embeddedItems;
+
+    public Mono<OrderResponse> createOrder(String userId) {
+        log.debug("Creating order for user: {}", userId);
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return cartRepository.findById(userId)
+                    .map(Cart::getLines)
+                    .filter(lines -> !lines.isEmpty())
+                    .switchIfEmpty(Mono.error(new IllegalArgumentException("Cart is empty")))
+                    .flatMap(cartItems -> productService.getFreshProductsByIds(
+                                    cartItems.stream().map(CartLine::getProductId).collect(Collectors.toList()))
+                            .flatMap(products -> placeOrder(userId, cartItems, products, start)));
+        });
+    }
+
+    private Mono<OrderResponse> placeOrder(String userId, List<CartLine> cartItems, Map<String, Product> products,
+                                           long start) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        double totalAmount = 0.0;
+        for (CartLine cartItem : cartItems) {
+            quantities.merge(cartItem.getProductId(), cartItem.getQuantity(), Integer::sum);
+            totalAmount += products.get(cartItem.getProductId()).getPrice() * cartItem.getQuantity();
+        }
+
+        String orderId = new ObjectId().toHexString();
+        List<OrderItem> orderItems = cartItems.stream()
+                .map(cartItem -> OrderItem.builder()
+                        .orderId(orderId)
+                        .productId(cartItem.getProductId())
+                        .quantity(cartItem.getQuantity())
+                        .price(products.get(cartItem.getProductId()).getPrice())
+                        .build())
+                .collect(Collectors.toList());
+
+        Order order = Order.builder()
+                .id(orderId)
+                .userId(userId)
+                .totalAmount(totalAmount)
+                .status("CREATED")
+                .createdAt(Instant.now())
+                .items(embeddedItems
+                        ? orderItems.stream().map(OrderLine::from).collect(Collectors.toList())
+                        : null)
+                .build();
+
+        Mono<Order> persist = Mono.defer(() -> {
+                    readRouting.userWrote(userId);
+                    return orderRepository.insert(order);
+                })
+                .flatMap(saved -> embeddedItems
+                        ? Mono.just(saved)
+                        : orderItemRepository.saveAll(orderItems).then(Mono.just(saved)))
+                .onErrorResume(e -> {
+                    // See OrderService#createOrder: remove a half-written order before giving the stock back
+                    log.error("Failed to persist order for user {}, removing it and restoring stock", userId);
+                    return orderRepository.deleteById(orderId)
+                            .then(embeddedItems ? Mono.empty() : orderItemRepository.deleteByOrderIdIn(List.of(orderId)))
+                            .then(productService.restoreStock(quantities))
+                            .then(Mono.error(e));
+                });
+
+        // Take over the user's holds; their units count towards this order even if they have expired
+        return reservationService.claim(userId, quantities.keySet()).flatMap(claim -> {
+            Map<String, Integer> claimed = claim.quantities();
+            for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+                Product product = products.get(line.getKey());
+                if (product.availableStock() + claimed.getOrDefault(line.getKey(), 0) < line.getValue()) {
+                    metrics.stockCheckFailed();
+                    return reservationService.restore(claim).then(Mono.<OrderResponse>error(
+                            new IllegalArgumentException("Insufficient stock for product: " + product.getName())));
+                }
+            }
+
+            return productService.decrementStock(quantities, claimed)
+                    .doOnError(InsufficientStockException.class, e -> metrics.stockCheckFailed())
+                    .onErrorResume(e -> reservationService.restore(claim).then(Mono.error(
+                            e instanceof InsufficientStockException insufficient
+                                    ? new InsufficientStockException(
+                                            "Insufficient stock for product: " + insufficient.getProductIds().stream()
+                                                    .map(id -> products.get(id).getName())
+                                                    .collect(Collectors.joining(", ")),
+                                            insufficient.getProductIds())
+                                    : e)))
+                    // The claimed units are now part of the decrement
+                    .then(reservationService.complete(claim))
+                    .then(persist)
+                    .flatMap(saved -> cartRepository.deleteById(userId).thenReturn(saved))
+                    .doOnNext(saved -> metrics.orderCreated(cartItems.size(), System.nanoTime() - start))
+                    .map(saved -> toResponse(saved, orderItems, null));
+        });
+    }
+
+    public Mono<OrderResponse> getOrderById(String orderId) {
+        return findOrder(orderId).flatMap(order -> {
+            if (order.getItems() != null) {
+                // Embedded aggregate: everything came back with the order document
+                Payment payment = order.getPayment() == null ? null : order.getPayment().toPayment(orderId);
+                return Mono.just(toResponse(order, toOrderItems(order), payment));
+            }
+            return Mono.zip(
+                            orderItemRepository.findByOrderId(orderId).collectList(),
+                            paymentRepository.findByOrderId(orderId).map(Optional::of).defaultIfEmpty(Optional.empty()))
+                    .map(tuple -> toResponse(order, tuple.getT1(), tuple.getT2().orElse(null)));
+        });
+    }
+
+    public Mono<Void> updateOrderStatus(String orderId, String status, Payment payment) {
+        log.debug("Updating order {}: status={}, payment={}", orderId, status,
+                payment == null ? null : payment.getStatus());
+
+        PaymentSummary summary = payment == null ? null : PaymentSummary.from(payment);
+        return mongoTemplate.updateFirst(
+                        OrderQueries.byId(orderId),
+                        OrderQueries.statusAndPayment(status, summary, mongoTemplate.getConverter()),
+                        Order.class)
+                .flatMap(result -> result.getMatchedCount() > 0
+                        ? Mono.<Void>empty()
+                        : Mono.<Void>error(new ResourceNotFoundException("Order not found with id: " + orderId)));
+    }
+
+    public Mono<CursorPage<OrderSummary>> getUserOrders(String userId, String cursor, Integer size, String fields) {
+        int pageSize = PageCursor.clampSize(size);
+        Set<String> selected = FieldSelector.parse(fields, OrderSummary.FIELDS, OrderSummary.DEFAULT_FIELDS);
+
+        Instant createdAt = null;
+        String lastId = null;
+        if (cursor != null) {
+            String[] position = PageCursor.decode(cursor, 2);
+            try {
+                createdAt = Instant.ofEpochMilli(Long.parseLong(position[0]));
+            } catch (NumberFormatException e) {
+                return Mono.error(new IllegalArgumentException("Invalid page cursor"));
+            }
+            lastId = position[1];
+        }
+
+        // Fetch one extra row to know whether another page exists. History may lag the primary
+        // by the staleness bound, except right after the user's own writes
+        return mongoTemplate.query(Order.class)
+                .as(OrderSummary.class)
+                .matching(readRouting.forUser(userId,
+                        OrderQueries.userOrderSummariesBefore(userId, createdAt, lastId, pageSize + 1, selected)))
+                .all()
+                .collectList()
+                .map(orders -> {
+                    String nextCursor = null;
+                    if (orders.size() > pageSize) {
+                        orders = orders.subList(0, pageSize);
+                        OrderSummary last = orders.get(pageSize - 1);
+                        nextCursor = PageCursor.encode(
+                                String.valueOf(last.getCreatedAt().toEpochMilli()), last.getId());
+                    }
+                    if (!selected.contains("createdAt")) {
+                        orders.forEach(order -> order.setCreatedAt(null));
+                    }
+                    return CursorPage.<OrderSummary>builder()
+                            .items(orders)
+                            .nextCursor(nextCursor)
+                            .build();
+                });
+    }
+
+    public Mono<OrderResponse> cancelOrder(String orderId) {
+        log.debug("Cancelling order: {}", orderId);
+
+        return findOrder(orderId).flatMap(order -> {
+            // Validate order status - only CREATED orders can be cancelled
+            if (!"CREATED".equals(order.getStatus())) {
+                return Mono.error(new IllegalArgumentException("Cannot cancel order with status: "
+                        + order.getStatus() + ". Only CREATED orders can be cancelled."));
+            }
+
+            Mono<List<OrderItem>> items = order.getItems() != null
+                    ? Mono.just(toOrderItems(order))
+                    : orderItemRepository.findByOrderId(orderId).collectList();
+
+            return items.flatMap(orderItems -> {
+                Map<String, Integer> quantities = new LinkedHashMap<>();
+                for (OrderItem item : orderItems) {
+                    quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+                }
+                // See OrderService#cancelOrder: the status flips only if still CREATED, then stock is restored
+                readRouting.userWrote(order.getUserId());
+                return updateStatusIf(orderId, "CREATED", "CANCELLED")
+                        .flatMap(cancelled -> cancelled
+                                ? Mono.<Void>empty()
+                                : findOrder(orderId).flatMap(current -> Mono.<Void>error(new IllegalArgumentException(
+                                        "Cannot cancel order with status: " + current.getStatus()
+                                                + ". Only CREATED orders can be cancelled."))))
+                        .then(productService.restoreStock(quantities)
+                                .onErrorResume(e -> {
+                                    log.error("Failed to restore stock for cancelled order {}, reopening it", orderId);
+                                    return updateStatusIf(orderId, "CANCELLED", "CREATED").then(Mono.error(e));
+                                }))
+                        .then(Mono.fromSupplier(() -> {
+                            order.setStatus("CANCELLED");
+                            metrics.orderCancelled();
+                            return toResponse(order, orderItems, null);
+                        }));
+            });
+        });
+    }
+
+    private Mono<Boolean> updateStatusIf(String orderId, String expected, String status) {
+        return mongoTemplate.updateFirst(OrderQueries.byIdWithStatus(orderId, expected),
+                        Update.update("status", status), Order.class)
+                .map(result -> result.getModifiedCount() > 0);
+    }
+
+    private Mono<Order> findOrder(String orderId) {
+        return orderRepository.findById(orderId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Order not found with id: " + orderId)));
+    }
+
+    private List<OrderItem> toOrderItems(Order order) {
+        return order.getItems().stream()
+                .map(line -> line.toOrderItem(order.getId()))
+                .collect(Collectors.toList());
+    }
+
+    private OrderResponse toResponse(Order order, List<OrderItem> items, Payment payment) {
+        return OrderResponse.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .totalAmount(order.getTotalAmount())
+                .status(order.getStatus())
+                .createdAt(order.getCreatedAt())
+                .items(items)
+                .payment(payment)
+                .build();
+    }
+}
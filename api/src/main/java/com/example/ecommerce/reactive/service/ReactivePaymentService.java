@@ -0,0 +1,62 @@
+package com.example.ecommerce.reactive.service;
+
+import com.example.ecommerce.config.ReadRouting;
+import com.example.ecommerce.dto.PaymentRequest;
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.model.Payment;
+import com.example.ecommerce.model.PaymentDelivery;
+import com.example.ecommerce.reactive.repository.ReactiveOrderRepository;
+import com.example.ecommerce.reactive.repository.ReactivePaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactivePaymentService {
+
+    private final ReactivePaymentRepository paymentRepository;
+    private final ReactiveOrderRepository orderRepository;
+    private final ReactiveOrderService orderService;
+    private final ReadRouting readRouting;
+
+    public Mono<Payment> createPayment(PaymentRequest request) {
+        log.debug("Creating payment for order: {}", request.getOrderId());
+
+        // Validate order exists and status is CREATED
+        return orderRepository.findById(request.getOrderId())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                        "Order not found with id: " + request.getOrderId())))
+                .flatMap(order -> {
+                    if (!"CREATED".equals(order.getStatus())) {
+                        return Mono.error(new IllegalArgumentException(
+                                "Order is not in CREATED status. Current status: " + order.getStatus()));
+                    }
+                    // Check if payment already exists for this order
+                    return paymentRepository.findByOrderId(request.getOrderId())
+                            .flatMap(existing -> Mono.<Payment>error(
+                                    new IllegalArgumentException("Payment already exists for this order")))
+                            .switchIfEmpty(Mono.defer(() -> {
+                                // Queued in the same document as the payment; PaymentOutboxDispatcher delivers it
+                                Instant now = Instant.now();
+                                readRouting.userWrote(order.getUserId());
+                                return paymentRepository.insert(Payment.builder()
+                                        .orderId(request.getOrderId())
+                                        .amount(request.getAmount())
+                                        .status("PENDING")
+                                        .paymentId("pending") // Will be updated by payment service
+                                        .createdAt(now)
+                                        .delivery(PaymentDelivery.pending(now))
+                                        .build());
+                            }));
+                })
+                .flatMap(payment -> orderService.updateOrderStatus(payment.getOrderId(), null, payment)
+                        .thenReturn(payment));
+    }
+}
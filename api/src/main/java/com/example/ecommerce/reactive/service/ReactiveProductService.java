@@ -0,0 +1,212 @@
+package com.example.ecommerce.reactive.service;
+
+import com.example.ecommerce.cache.CatalogRevision;
+import com.example.ecommerce.cache.ProductCache;
+import com.example.ecommerce.config.ReadRouting;
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.PageCursor;
+import com.example.ecommerce.dto.ProductSummary;
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.reactive.repository.ReactiveProductRepository;
+import com.example.ecommerce.repository.ProductQueries;
+import com.example.ecommerce.search.ProductSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive counterpart of {@code ProductService}. Shares the product cache and
+ * search index with the blocking stack, so both modes see the same catalog state.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveProductService {
+
+    private final ReactiveProductRepository productRepository;
+    private final ReactiveStockService stockService;
+    private final ProductCache productCache;
+    private final ProductSearchIndex searchIndex;
+    private final CatalogRevision catalogRevision;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ReadRouting readRouting;
+
+    public Mono<Product> createProduct(Product product) {
+        log.debug("Creating product: {}", product.getName());
+        product.setVersion(null); // Always an insert, whatever the client sent
+        product.setReserved(null); // Units are only held through cart reservations
+        return productRepository.save(product)
+                .doOnNext(saved -> {
+                    catalogRevision.bump();
+                    productCache.put(saved);
+                    searchIndex.index(saved);
+                });
+    }
+
+    public Mono<CursorPage<Product>> getAllProducts(String cursor, Integer size) {
+        int pageSize = PageCursor.clampSize(size);
+
+        // Fetch one extra row to know whether another page exists
+        String afterId = cursor == null ? null : PageCursor.decode(cursor, 1)[0];
+        return mongoTemplate.find(readRouting.secondaryPreferred(ProductQueries.pageAfter(afterId, pageSize + 1)),
+                        Product.class)
+                .collectList()
+                .map(page -> {
+                    String nextCursor = null;
+                    if (page.size() > pageSize) {
+                        page = page.subList(0, pageSize);
+                        nextCursor = PageCursor.encode(page.get(pageSize - 1).getId());
+                    }
+                    return CursorPage.<Product>builder()
+                            .items(page)
+                            .nextCursor(nextCursor)
+                            .build();
+                });
+    }
+
+    public Mono<Product> getProductById(String id) {
+        Product cached = productCache.get(id);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return getFreshProductById(id);
+    }
+
+    public Mono<Product> getFreshProductById(String id) {
+        return productRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Product not found with id: " + id)))
+                .doOnNext(productCache::put);
+    }
+
+    public Mono<Map<String, Product>> getProductsByIds(Collection<String> ids) {
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        Map<String, Product> cached = productCache.getAll(uniqueIds);
+        if (cached.size() == uniqueIds.size()) {
+            return Mono.just(cached);
+        }
+
+        Set<String> missing = new LinkedHashSet<>(uniqueIds);
+        missing.removeAll(cached.keySet());
+        return getFreshProductsByIds(missing).map(loaded -> {
+            Map<String, Product> products = new HashMap<>(cached);
+            products.putAll(loaded);
+            return products;
+        });
+    }
+
+    // Cached products are copied; the rest are read with a projection and not cached
+    public Mono<Map<String, ProductSummary>> getSummariesByIds(Collection<String> ids, Set<String> fields) {
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        Map<String, ProductSummary> summaries = new HashMap<>();
+        for (Product product : productCache.getAll(uniqueIds).values()) {
+            summaries.put(product.getId(), ProductSummary.from(product, fields));
+        }
+        if (summaries.size() == uniqueIds.size()) {
+            return Mono.just(summaries);
+        }
+
+        Set<String> missing = new LinkedHashSet<>(uniqueIds);
+        missing.removeAll(summaries.keySet());
+        return mongoTemplate.query(Product.class)
+                .as(ProductSummary.class)
+                .matching(ProductQueries.summariesByIds(missing, fields))
+                .all()
+                .doOnNext(summary -> summaries.put(summary.getId(), summary))
+                .then(Mono.defer(() -> {
+                    if (summaries.size() < uniqueIds.size()) {
+                        uniqueIds.removeAll(summaries.keySet());
+                        return Mono.error(new ResourceNotFoundException("Products not found with ids: " + uniqueIds));
+                    }
+                    return Mono.just(summaries);
+                }));
+    }
+
+    public Mono<Map<String, Product>> getFreshProductsByIds(Collection<String> ids) {
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        return productRepository.findAllById(uniqueIds)
+                .collectMap(Product::getId)
+                .flatMap(products -> {
+                    productCache.putAll(products.values());
+                    if (products.size() < uniqueIds.size()) {
+                        uniqueIds.removeAll(products.keySet());
+                        return Mono.error(new ResourceNotFoundException("Products not found with ids: " + uniqueIds));
+                    }
+                    return Mono.just(products);
+                });
+    }
+
+    public Mono<List<Product>> searchProducts(String query, int page, Integer size) {
+        int pageSize = PageCursor.clampSize(size);
+        List<String> ids = searchIndex.search(query, PageCursor.offset(page, pageSize), pageSize);
+        if (ids.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        Map<String, Product> cached = productCache.getAll(ids);
+        if (cached.size() == ids.size()) {
+            return Mono.just(ids.stream().map(cached::get).collect(Collectors.toList()));
+        }
+
+        // Misses may be slightly stale, so they are not cached
+        Set<String> missing = new LinkedHashSet<>(ids);
+        missing.removeAll(cached.keySet());
+        return mongoTemplate.find(readRouting.secondaryPreferred(ProductQueries.byIds(missing)), Product.class)
+                .collectMap(Product::getId)
+                .map(loaded -> {
+                    Map<String, Product> products = new HashMap<>(cached);
+                    products.putAll(loaded);
+                    // A product indexed moments ago may not have reached the secondary yet
+                    return ids.stream().map(products::get).filter(Objects::nonNull).collect(Collectors.toList());
+                });
+    }
+
+    public Mono<Void> decrementStock(Map<String, Integer> quantities) {
+        return decrementStock(quantities, Map.of());
+    }
+
+    public Mono<Void> decrementStock(Map<String, Integer> quantities, Map<String, Integer> released) {
+        return stockService.decrement(quantities, released)
+                .doFinally(signal -> stockWritten(quantities.keySet()));
+    }
+
+    public Mono<Boolean> reserveStock(String productId, int quantity) {
+        return stockService.reserve(productId, quantity)
+                .doFinally(signal -> productCache.invalidate(productId));
+    }
+
+    public Mono<Void> releaseStock(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Mono.empty();
+        }
+        return stockService.release(quantities)
+                .doFinally(signal -> productCache.invalidateAll(quantities.keySet()));
+    }
+
+    public Mono<Void> restoreStock(Map<String, Integer> quantities) {
+        return stockService.increment(quantities)
+                .doFinally(signal -> stockWritten(quantities.keySet()));
+    }
+
+    public Map<String, Object> getCacheStats() {
+        return productCache.stats();
+    }
+
+    // Reservations only change reserved, which the catalog does not show; these change stock
+    private void stockWritten(Collection<String> productIds) {
+        productCache.invalidateAll(productIds);
+        catalogRevision.bump();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.ecommerce.reactive.service;
+
+import com.example.ecommerce.model.StockReservation;
+import com.example.ecommerce.repository.ReservationQueries;
+import com.example.ecommerce.service.ReservationService;
+import com.example.ecommerce.service.ReservationService.Claim;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link ReservationService} for the cart and checkout
+ * paths, ordering the ledger and counter writes in the same way. Expired holds are
+ * released, and counters reconciled, by the shared {@code ReservationSweeper}.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveReservationService {
+
+    private final ReactiveProductService productService;
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Value("${reservation.ttl:15m}")
+    private Duration ttl;
+
+    // Emits false if fewer units are available; nothing is held then
+    public Mono<Boolean> hold(String userId, String productId, int quantity) {
+        // Ledger first: a crash before the counter write leaves a hold that reconcile counts
+        return addHold(userId, productId, quantity, Instant.now().plus(ttl))
+                .then(productService.reserveStock(productId, quantity)
+                        .onErrorResume(e -> removeHold(userId, productId, quantity).then(Mono.error(e))))
+                .flatMap(reserved -> reserved
+                        ? Mono.just(true)
+                        : removeHold(userId, productId, quantity).thenReturn(false));
+    }
+
+    public Mono<Void> unhold(String userId, String productId, int quantity) {
+        return productService.releaseStock(Map.of(productId, quantity))
+                .then(removeHold(userId, productId, quantity));
+    }
+
+    // See ReservationService#claim
+    public Mono<Claim> claim(String userId, Collection<String> productIds) {
+        return claim(ReservationQueries.unclaimed(userId, productIds));
+    }
+
+    public Mono<Void> complete(Claim claim) {
+        return mongoTemplate.remove(ReservationQueries.claimedBy(claim.token()), StockReservation.class).then();
+    }
+
+    // See StockReservationRepositoryCustom#unclaim
+    public Mono<Void> restore(Claim claim) {
+        Instant expiresAt = Instant.now().plus(ttl);
+        return mongoTemplate.find(ReservationQueries.claimedBy(claim.token()), StockReservation.class)
+                .filter(claimed -> claimed.getQuantity() != null && claimed.getQuantity() > 0)
+                .concatMap(claimed -> addHold(claimed.getUserId(), claimed.getProductId(),
+                        claimed.getQuantity(), expiresAt))
+                .then(complete(claim));
+    }
+
+    public Mono<Void> releaseAll(String userId) {
+        return claim(ReservationQueries.unclaimed(userId))
+                .flatMap(claim -> productService.releaseStock(claim.quantities()).then(complete(claim)));
+    }
+
+    // Stamps the matching holds with a fresh token in one update, then reads them back by it
+    private Mono<Claim> claim(Query unclaimed) {
+        String token = UUID.randomUUID().toString();
+        return mongoTemplate.updateMulti(unclaimed, ReservationQueries.claim(token, Instant.now()),
+                        StockReservation.class)
+                .thenMany(mongoTemplate.find(ReservationQueries.claimedBy(token), StockReservation.class))
+                .collectList()
+                .map(reservations -> Claim.of(token, reservations));
+    }
+
+    private Mono<Void> addHold(String userId, String productId, int quantity, Instant expiresAt) {
+        return upsertHold(userId, productId, quantity, expiresAt)
+                // A concurrent first hold inserted the document; this time the upsert matches it
+                .onErrorResume(DuplicateKeyException.class, e -> upsertHold(userId, productId, quantity, expiresAt));
+    }
+
+    private Mono<Void> upsertHold(String userId, String productId, int quantity, Instant expiresAt) {
+        return mongoTemplate.upsert(ReservationQueries.byUserAndProduct(userId, productId),
+                        ReservationQueries.hold(quantity, expiresAt), StockReservation.class)
+                .then();
+    }
+
+    private Mono<Void> removeHold(String userId, String productId, int quantity) {
+        return mongoTemplate.updateFirst(ReservationQueries.byUserAndProduct(userId, productId),
+                        ReservationQueries.unhold(quantity), StockReservation.class)
+                .then();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.ecommerce.reactive.service;
+
+import com.example.ecommerce.exception.InsufficientStockException;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.service.StockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Non-blocking counterpart of {@link StockService}, using the same conditional
+ * {@code $inc} updates, available-stock condition and per-line compensation.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveStockService {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public Mono<Void> decrement(Map<String, Integer> quantities) {
+        return decrement(quantities, Map.of());
+    }
+
+    public Mono<Void> decrement(Map<String, Integer> quantities, Map<String, Integer> released) {
+        if (quantities.isEmpty()) {
+            return Mono.empty();
+        }
+
+        // The same per-line conditional updates, sent concurrently; a line that errors is kept
+        // as a result, so every other line completes and is accounted for before compensating
+        return Flux.fromIterable(quantities.keySet())
+                .flatMap(productId -> {
+                    int quantity = quantities.get(productId);
+                    int held = released.getOrDefault(productId, 0);
+                    return mongoTemplate.updateFirst(StockService.availableAtLeast(productId, quantity - held),
+                                    StockService.decrementUpdate(quantity, held), Product.class)
+                            .map(result -> new Line(productId, result.getMatchedCount() > 0, null))
+                            .onErrorResume(e -> Mono.just(new Line(productId, false, e)));
+                })
+                .collectMap(Line::productId)
+                .flatMap(lines -> {
+                    Set<String> applied = new LinkedHashSet<>();
+                    Set<String> rejected = new LinkedHashSet<>();
+                    Throwable failure = null;
+                    for (String productId : quantities.keySet()) {
+                        Line line = lines.get(productId);
+                        (line.applied() ? applied : rejected).add(productId);
+                        if (failure == null) {
+                            failure = line.error();
+                        }
+                    }
+                    if (failure != null) {
+                        log.error("Stock decrement failed after {} applied lines, compensating them", applied.size());
+                        return compensate(applied, quantities, released).then(Mono.error(failure));
+                    }
+                    if (rejected.isEmpty()) {
+                        return Mono.<Void>empty();
+                    }
+                    // Some lines did not match their stock condition or their product is gone: roll back the ones that did
+                    return compensate(applied, quantities, released).then(Mono.defer(() -> {
+                        log.warn("Stock decrement rejected for products {}, compensated {} applied lines",
+                                rejected, applied.size());
+                        return Mono.error(new InsufficientStockException(
+                                "Insufficient stock for products: " + rejected, rejected));
+                    }));
+                });
+    }
+
+    public Mono<Void> increment(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Mono.empty();
+        }
+
+        ReactiveBulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        quantities.forEach((productId, quantity) -> ops.updateOne(
+                Query.query(Criteria.where("_id").is(productId)),
+                new Update().inc("stock", quantity).inc("version", 1)));
+
+        return ops.execute()
+                .doOnNext(result -> {
+                    if (result.getMatchedCount() < quantities.size()) {
+                        log.warn("Stock restore matched {} of {} products",
+                                result.getMatchedCount(), quantities.size());
+                    }
+                })
+                .then();
+    }
+
+    public Mono<Boolean> reserve(String productId, int quantity) {
+        return mongoTemplate.updateFirst(StockService.availableAtLeast(productId, quantity),
+                        StockService.reservedUpdate(quantity), Product.class)
+                .map(result -> result.getModifiedCount() > 0);
+    }
+
+    public Mono<Void> release(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Mono.empty();
+        }
+
+        ReactiveBulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        quantities.forEach((productId, quantity) -> ops.updateOne(
+                Query.query(Criteria.where("_id").is(productId)),
+                StockService.reservedUpdate(-quantity)));
+        return ops.execute().then();
+    }
+
+    private Mono<Void> compensate(Set<String> applied, Map<String, Integer> quantities,
+                                  Map<String, Integer> released) {
+        if (applied.isEmpty()) {
+            return Mono.empty();
+        }
+        ReactiveBulkOperations compensation = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        applied.forEach(productId -> compensation.updateOne(
+                Query.query(Criteria.where("_id").is(productId)),
+                StockService.compensationUpdate(quantities.get(productId), released.getOrDefault(productId, 0))));
+        return compensation.execute().then();
+    }
+
+    // Outcome of one decrement line; error is set if the update itself failed
+    private record Line(String productId, boolean applied, Throwable error) {
+    }
+}
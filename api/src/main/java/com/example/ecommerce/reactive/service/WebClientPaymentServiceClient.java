@@ -0,0 +1,34 @@
+package com.example.ecommerce.reactive.service;
+
+import com.example.ecommerce.service.PaymentServiceClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * WebClient-backed delivery for the reactive mode. Called from the outbox
+ * dispatcher's scheduler thread, never from the event loop, so it may block.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class WebClientPaymentServiceClient implements PaymentServiceClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final WebClient paymentWebClient;
+
+    @Override
+    public void createPayment(Map<String, Object> payload) {
+        paymentWebClient.post()
+                .uri("/payments/create")
+                .bodyValue(payload)
+                .retrieve()
+                .bodyToMono(String.class)
+                .block(TIMEOUT);
+    }
+}
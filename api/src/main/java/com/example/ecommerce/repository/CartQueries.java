@@ -0,0 +1,89 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.CartLine;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cart queries shared by the blocking and reactive code paths. Each cart change is a
+ * single pipeline update on the cart document, which adds to the matching line or
+ * appends a new one, so there is no read-then-write window and no second attempt.
+ */
+public final class CartQueries {
+
+    private CartQueries() {
+    }
+
+    public static Query byUser(String userId) {
+        return Query.query(Criteria.where("_id").is(userId));
+    }
+
+    // The user's cart, only if the legacy cart_items row has not been merged into it yet
+    public static Query notMigrated(String userId, String itemId) {
+        return Query.query(Criteria.where("_id").is(userId).and("migratedItems").ne(itemId));
+    }
+
+    /**
+     * Adds {@code quantity} to the line for {@code productId}, as long as the line stays within
+     * {@code maxQuantity}, or appends a new line if there is none. Upserting this on
+     * {@link #byUser} creates the cart; reading the document from before the update with
+     * {@link #quantityAfterAdd} tells whether it applied.
+     */
+    public static AggregationUpdate addToLine(String productId, int quantity, int maxQuantity) {
+        return AggregationUpdate.from(List.of(set(addToLineFields(productId, quantity, maxQuantity))));
+    }
+
+    /**
+     * Merges a legacy {@code cart_items} row into the cart and records its id, so that pairing
+     * this with {@link #notMigrated} applies each row at most once.
+     */
+    public static AggregationUpdate addMigratedLine(String itemId, String productId, int quantity) {
+        Document fields = addToLineFields(productId, quantity, Integer.MAX_VALUE)
+                .append("migratedItems", new Document("$concatArrays",
+                        List.of(new Document("$ifNull", List.of("$migratedItems", List.of())), List.of(itemId))));
+        return AggregationUpdate.from(List.of(set(fields)));
+    }
+
+    /**
+     * The line's quantity after {@link #addToLine}, given the line as it was before the update
+     * (null if the cart or line did not exist), or empty if the add did not apply.
+     */
+    public static Optional<Integer> quantityAfterAdd(CartLine before, int quantity, int maxQuantity) {
+        if (before == null) {
+            return Optional.of(quantity);
+        }
+        if (before.getQuantity() > maxQuantity - quantity) {
+            return Optional.empty();
+        }
+        return Optional.of(before.getQuantity() + quantity);
+    }
+
+    private static Document addToLineFields(String productId, int quantity, int maxQuantity) {
+        Document lines = new Document("$ifNull", List.of("$lines", List.of()));
+        Document isLine = new Document("$eq", List.of("$$line.productId", productId));
+        Document hasRoom = new Document("$lte", List.of("$$line.quantity", maxQuantity - quantity));
+        Document incremented = new Document("$mergeObjects", List.of("$$line",
+                new Document("quantity", new Document("$add", List.of("$$line.quantity", quantity)))));
+        Document increment = new Document("$map", new Document("input", lines)
+                .append("as", "line")
+                .append("in", new Document("$cond", List.of(
+                        new Document("$and", List.of(isLine, hasRoom)), incremented, "$$line"))));
+        Document append = new Document("$concatArrays", List.of(lines,
+                List.of(new Document("productId", productId).append("quantity", quantity))));
+
+        Document hasLine = new Document("$in", List.of(productId,
+                new Document("$ifNull", List.of("$lines.productId", List.of()))));
+        return new Document("lines", new Document("$cond", List.of(hasLine, increment, append)))
+                .append("updatedAt", "$$NOW");
+    }
+
+    private static AggregationOperation set(Document fields) {
+        return context -> new Document("$set", fields);
+    }
+}
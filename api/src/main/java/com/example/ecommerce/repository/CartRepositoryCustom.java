@@ -0,0 +1,10 @@
+package com.example.ecommerce.repository;
+
+import java.util.Optional;
+
+public interface CartRepositoryCustom {
+
+    // Adds quantity to the product's line, creating the cart or line if needed; returns the line's
+    // new quantity, or empty if an existing line would exceed maxQuantity
+    Optional<Integer> addToLine(String userId, String productId, int quantity, int maxQuantity);
+}
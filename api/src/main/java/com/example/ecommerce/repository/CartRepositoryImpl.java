@@ -0,0 +1,25 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.Cart;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class CartRepositoryImpl implements CartRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Integer> addToLine(String userId, String productId, int quantity, int maxQuantity) {
+        // Returns the cart as it was before the update, or null if the upsert created it
+        Cart before = mongoTemplate.findAndModify(
+                CartQueries.byUser(userId),
+                CartQueries.addToLine(productId, quantity, maxQuantity),
+                FindAndModifyOptions.options().upsert(true),
+                Cart.class);
+        return CartQueries.quantityAfterAdd(before == null ? null : before.findLine(productId), quantity, maxQuantity);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.PaymentSummary;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ObjectOperators;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Order queries shared by the blocking and reactive repositories.
+ */
+public final class OrderQueries {
+
+    private OrderQueries() {
+    }
+
+    // Newest first; pass null createdAt/id for the first page
+    public static Query userOrdersBefore(String userId, Instant createdAt, String id, int limit) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (createdAt != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(createdAt),
+                    Criteria.where("createdAt").is(createdAt).and("_id").lt(id));
+        }
+
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                .limit(limit);
+    }
+
+    // Order history projection; the cursor needs _id and createdAt, so they are always read
+    public static Query userOrderSummariesBefore(String userId, Instant createdAt, String id, int limit,
+                                                 Collection<String> fields) {
+        Query query = userOrdersBefore(userId, createdAt, id, limit);
+        query.fields().include(fields.toArray(String[]::new)).include("createdAt");
+        return query;
+    }
+
+    public static Query byId(String orderId) {
+        return Query.query(Criteria.where("_id").is(orderId));
+    }
+
+    // Matches only while the order is in status, so a status transition applies at most once
+    public static Query byIdWithStatus(String orderId, String status) {
+        return Query.query(Criteria.where("_id").is(orderId).and("status").is(status));
+    }
+
+    // Sets status (if non-null) and embeds payment (if non-null). A payment result can land
+    // before the summary of a new payment is written; the status and payment id it already
+    // embedded are kept, so the summary never moves the order's payment back to PENDING
+    public static AggregationUpdate statusAndPayment(String status, PaymentSummary payment, MongoConverter converter) {
+        AggregationUpdate update = AggregationUpdate.update();
+        if (status != null) {
+            update.set("status").toValue(status);
+        }
+        if (payment != null) {
+            update.set("payment").toValue(ObjectOperators.MergeObjects.merge(converter.convertToMongoType(payment))
+                    .mergeWith(ConditionalOperators.ifNull("payment").then(new Document())));
+        }
+        return update;
+    }
+}
@@ -4,11 +4,6 @@ import com.example.ecommerce.model.Order;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
-public interface OrderRepository extends MongoRepository<Order, String> {
-
-    // For bonus order history feature
-    List<Order> findByUserId(String userId);
+public interface OrderRepository extends MongoRepository<Order, String>, OrderRepositoryCustom {
 }
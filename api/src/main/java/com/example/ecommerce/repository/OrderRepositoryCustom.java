@@ -0,0 +1,23 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.dto.OrderSummary;
+import com.example.ecommerce.model.PaymentSummary;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+
+    // Newest first; pass null createdAt/id for the first page. May be served by a secondary
+    // Only the given OrderSummary fields are read from Mongo
+    List<OrderSummary> findUserOrdersBefore(String userId, Instant createdAt, String id, int limit,
+                                            Collection<String> fields);
+
+    // Sets status (if non-null) and the embedded payment summary (if non-null), keeping a payment
+    // status a webhook already embedded; false if no such order
+    boolean updateStatusAndPayment(String orderId, String status, PaymentSummary payment);
+
+    // Moves the order from expected to status in one conditional update; false if it was not in expected
+    boolean updateStatusIf(String orderId, String expected, String status);
+}
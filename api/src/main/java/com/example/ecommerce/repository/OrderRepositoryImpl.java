@@ -0,0 +1,49 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.config.ReadRouting;
+import com.example.ecommerce.dto.OrderSummary;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.PaymentSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final ReadRouting readRouting;
+
+    @Override
+    public List<OrderSummary> findUserOrdersBefore(String userId, Instant createdAt, String id, int limit,
+                                                   Collection<String> fields) {
+        // Order history tolerates bounded staleness, except right after the user's own writes
+        return mongoTemplate.query(Order.class)
+                .as(OrderSummary.class)
+                .matching(readRouting.forUser(userId,
+                        OrderQueries.userOrderSummariesBefore(userId, createdAt, id, limit, fields)))
+                .all();
+    }
+
+    @Override
+    public boolean updateStatusAndPayment(String orderId, String status, PaymentSummary payment) {
+        return mongoTemplate.updateFirst(
+                        OrderQueries.byId(orderId),
+                        OrderQueries.statusAndPayment(status, payment, mongoTemplate.getConverter()),
+                        Order.class)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean updateStatusIf(String orderId, String expected, String status) {
+        return mongoTemplate.updateFirst(
+                        OrderQueries.byIdWithStatus(orderId, expected),
+                        Update.update("status", status),
+                        Order.class)
+                .getModifiedCount() > 0;
+    }
+}
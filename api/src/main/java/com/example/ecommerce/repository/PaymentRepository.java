@@ -12,4 +12,6 @@ public interface PaymentRepository extends MongoRepository<Payment, String> {
     Optional<Payment> findByOrderId(String orderId);
 
     Optional<Payment> findByPaymentId(String paymentId);
+
+    long countByStatus(String status);
 }
@@ -0,0 +1,35 @@
+package com.example.ecommerce.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+
+/**
+ * Product queries shared by the blocking and reactive repositories.
+ */
+public final class ProductQueries {
+
+    private ProductQueries() {
+    }
+
+    // Keyset pagination over _id (no count query); pass null afterId for the first page
+    public static Query pageAfter(String afterId, int limit) {
+        Query query = afterId == null
+                ? new Query()
+                : Query.query(Criteria.where("_id").gt(afterId));
+        return query.with(Sort.by(Sort.Direction.ASC, "_id")).limit(limit);
+    }
+
+    public static Query byIds(Collection<String> ids) {
+        return Query.query(Criteria.where("_id").in(ids));
+    }
+
+    // Reads only the given ProductSummary fields, plus _id
+    public static Query summariesByIds(Collection<String> ids, Collection<String> fields) {
+        Query query = byIds(ids);
+        query.fields().include(fields.toArray(String[]::new));
+        return query;
+    }
+}
@@ -4,11 +4,6 @@ import com.example.ecommerce.model.Product;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
-public interface ProductRepository extends MongoRepository<Product, String> {
-
-    // For bonus search feature
-    List<Product> findByNameContainingIgnoreCase(String name);
+public interface ProductRepository extends MongoRepository<Product, String>, ProductRepositoryCustom {
 }
@@ -0,0 +1,21 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.dto.ProductSummary;
+import com.example.ecommerce.model.Product;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Catalog reads that may be served by a secondary; see {@code ReadRouting}.
+ */
+public interface ProductRepositoryCustom {
+
+    // Ordered by id; pass null afterId for the first page
+    List<Product> findCatalogPage(String afterId, int limit);
+
+    List<Product> findCatalogByIds(Collection<String> ids);
+
+    // Projected read from the primary; unknown ids are left out
+    List<ProductSummary> findSummariesByIds(Collection<String> ids, Collection<String> fields);
+}
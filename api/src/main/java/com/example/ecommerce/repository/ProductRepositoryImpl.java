@@ -0,0 +1,36 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.config.ReadRouting;
+import com.example.ecommerce.dto.ProductSummary;
+import com.example.ecommerce.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final ReadRouting readRouting;
+
+    @Override
+    public List<Product> findCatalogPage(String afterId, int limit) {
+        return mongoTemplate.find(
+                readRouting.secondaryPreferred(ProductQueries.pageAfter(afterId, limit)), Product.class);
+    }
+
+    @Override
+    public List<Product> findCatalogByIds(Collection<String> ids) {
+        return mongoTemplate.find(readRouting.secondaryPreferred(ProductQueries.byIds(ids)), Product.class);
+    }
+
+    @Override
+    public List<ProductSummary> findSummariesByIds(Collection<String> ids, Collection<String> fields) {
+        return mongoTemplate.query(Product.class)
+                .as(ProductSummary.class)
+                .matching(ProductQueries.summariesByIds(ids, fields))
+                .all();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.ecommerce.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Stock reservation queries shared by the blocking and reactive repositories.
+ *
+ * <p>Holds are removed in three steps: stamp them with a claim token, apply their units
+ * to the product counters, then delete them by token. A claimed hold still counts as
+ * reserved until it is deleted, and its token is what every later step selects by.
+ */
+public final class ReservationQueries {
+
+    private ReservationQueries() {
+    }
+
+    // The user's unclaimed hold, unique through user_product_idx, so an upsert on it
+    // creates at most one; claimed entries are never added to or taken from
+    public static Query byUserAndProduct(String userId, String productId) {
+        return Query.query(Criteria.where("userId").is(userId).and("productId").is(productId)
+                .and("claimToken").is(null));
+    }
+
+    public static Query byUser(String userId) {
+        return Query.query(Criteria.where("userId").is(userId));
+    }
+
+    // Adds to the hold and pushes its expiry out; userId and productId come from the query on insert
+    public static Update hold(int quantity, Instant expiresAt) {
+        return new Update().inc("quantity", quantity).set("expiresAt", expiresAt);
+    }
+
+    public static Update unhold(int quantity) {
+        return new Update().inc("quantity", -quantity);
+    }
+
+    // The user's holds on productIds that nobody is removing yet
+    public static Query unclaimed(String userId, Collection<String> productIds) {
+        return Query.query(Criteria.where("userId").is(userId).and("productId").in(productIds)
+                .and("claimToken").is(null));
+    }
+
+    // All of the user's holds that nobody is removing yet
+    public static Query unclaimed(String userId) {
+        return Query.query(Criteria.where("userId").is(userId).and("claimToken").is(null));
+    }
+
+    // Oldest first; only ids are read, the batch is then claimed with one update
+    public static Query expired(Instant now, int limit) {
+        Query query = Query.query(Criteria.where("expiresAt").lt(now).and("claimToken").is(null))
+                .with(Sort.by(Sort.Direction.ASC, "expiresAt"))
+                .limit(limit);
+        query.fields().include("_id");
+        return query;
+    }
+
+    // Does not match a hold that was extended or claimed after it was listed as expired
+    public static Query expiredByIds(Collection<String> ids, Instant now) {
+        return Query.query(Criteria.where("_id").in(ids).and("expiresAt").lt(now).and("claimToken").is(null));
+    }
+
+    public static Update claim(String token, Instant now) {
+        return new Update().set("claimToken", token).set("claimedAt", now);
+    }
+
+    public static Query claimedBy(String token) {
+        return Query.query(Criteria.where("claimToken").is(token));
+    }
+
+    // Claims left behind by a checkout or sweep that died before deleting them
+    public static Query claimedBefore(Instant cutoff) {
+        return Query.query(Criteria.where("claimedAt").lt(cutoff));
+    }
+
+    /**
+     * Per product: the units of unclaimed holds, which is what {@code reserved} should be,
+     * and the number of holds claimed by a removal still in progress. Reads the whole
+     * ledger, which only holds the carts of the last {@code reservation.ttl}.
+     */
+    public static Aggregation totalsByProduct() {
+        ComparisonOperators.Eq isUnclaimed = ComparisonOperators.valueOf(
+                ConditionalOperators.ifNull("claimToken").then("")).equalToValue("");
+        return Aggregation.newAggregation(
+                Aggregation.group("productId")
+                        .sum(ConditionalOperators.when(isUnclaimed).thenValueOf("quantity").otherwise(0))
+                        .as("active")
+                        .sum(ConditionalOperators.when(isUnclaimed).then(0).otherwise(1))
+                        .as("claimed"));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.StockReservation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends MongoRepository<StockReservation, String>,
+        StockReservationRepositoryCustom {
+
+    List<StockReservation> findByUserId(String userId);
+}
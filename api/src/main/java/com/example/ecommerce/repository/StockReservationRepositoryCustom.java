@@ -0,0 +1,41 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.StockReservation;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface StockReservationRepositoryCustom {
+
+    // Adds quantity to the user's hold on productId, creating it if needed, and sets its expiry
+    void hold(String userId, String productId, int quantity, Instant expiresAt);
+
+    void unhold(String userId, String productId, int quantity);
+
+    // Stamps the unclaimed holds matching the query with token, in one update, and returns them
+    List<StockReservation> claim(Query unclaimed, String token, Instant now);
+
+    // Same as claim for up to limit expired holds, oldest first
+    List<StockReservation> claimExpired(Instant now, int limit, String token);
+
+    // Deletes the holds claimed with token, once their units have been applied
+    void removeClaimed(String token);
+
+    // Hands the holds claimed with token back to their users with a fresh expiry, adding them
+    // to any hold taken since, then deletes the claimed entries
+    void unclaim(String token, Instant expiresAt);
+
+    // Deletes claims older than cutoff, whose owner has died; returns how many there were
+    long removeClaimsBefore(Instant cutoff);
+
+    Set<String> findHeldProductIds();
+
+    Map<String, ProductTotals> totalsByProduct();
+
+    // A product's unclaimed held units, and the number of its holds being removed
+    record ProductTotals(int active, int claimed) {
+    }
+}
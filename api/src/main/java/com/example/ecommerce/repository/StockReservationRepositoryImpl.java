@@ -0,0 +1,101 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.StockReservation;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class StockReservationRepositoryImpl implements StockReservationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void hold(String userId, String productId, int quantity, Instant expiresAt) {
+        try {
+            upsertHold(userId, productId, quantity, expiresAt);
+        } catch (DuplicateKeyException e) {
+            // A concurrent first hold inserted the document; this time the upsert matches it
+            upsertHold(userId, productId, quantity, expiresAt);
+        }
+    }
+
+    @Override
+    public void unhold(String userId, String productId, int quantity) {
+        mongoTemplate.updateFirst(ReservationQueries.byUserAndProduct(userId, productId),
+                ReservationQueries.unhold(quantity), StockReservation.class);
+    }
+
+    @Override
+    public List<StockReservation> claim(Query unclaimed, String token, Instant now) {
+        mongoTemplate.updateMulti(unclaimed, ReservationQueries.claim(token, now), StockReservation.class);
+        return mongoTemplate.find(ReservationQueries.claimedBy(token), StockReservation.class);
+    }
+
+    @Override
+    public List<StockReservation> claimExpired(Instant now, int limit, String token) {
+        List<String> ids = mongoTemplate.find(ReservationQueries.expired(now, limit), StockReservation.class).stream()
+                .map(StockReservation::getId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return claim(ReservationQueries.expiredByIds(ids, now), token, now);
+    }
+
+    @Override
+    public void removeClaimed(String token) {
+        mongoTemplate.remove(ReservationQueries.claimedBy(token), StockReservation.class);
+    }
+
+    @Override
+    public void unclaim(String token, Instant expiresAt) {
+        // An unclaimed hold may exist again by now, so the units are merged into it rather than
+        // the token unset; a crash before the delete leaves a stale claim that reconcile discards
+        List<StockReservation> claimed = mongoTemplate.find(ReservationQueries.claimedBy(token), StockReservation.class);
+        for (StockReservation reservation : claimed) {
+            if (reservation.getQuantity() != null && reservation.getQuantity() > 0) {
+                hold(reservation.getUserId(), reservation.getProductId(), reservation.getQuantity(), expiresAt);
+            }
+        }
+        removeClaimed(token);
+    }
+
+    @Override
+    public long removeClaimsBefore(Instant cutoff) {
+        return mongoTemplate.remove(ReservationQueries.claimedBefore(cutoff), StockReservation.class)
+                .getDeletedCount();
+    }
+
+    @Override
+    public Set<String> findHeldProductIds() {
+        return new HashSet<>(mongoTemplate.findDistinct(
+                new Query(), "productId", StockReservation.class, String.class));
+    }
+
+    @Override
+    public Map<String, ProductTotals> totalsByProduct() {
+        Map<String, ProductTotals> totals = new HashMap<>();
+        for (Document total : mongoTemplate.aggregate(
+                ReservationQueries.totalsByProduct(), StockReservation.class, Document.class)) {
+            totals.put(total.getString("_id"), new ProductTotals(
+                    total.get("active", Number.class).intValue(), total.get("claimed", Number.class).intValue()));
+        }
+        return totals;
+    }
+
+    private void upsertHold(String userId, String productId, int quantity, Instant expiresAt) {
+        mongoTemplate.upsert(ReservationQueries.byUserAndProduct(userId, productId),
+                ReservationQueries.hold(quantity, expiresAt), StockReservation.class);
+    }
+}
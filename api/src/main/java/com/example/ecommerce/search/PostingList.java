@@ -0,0 +1,97 @@
+package com.example.ecommerce.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable, ascending list of document ids backed by a primitive int array.
+ */
+final class PostingList {
+
+    private int[] docs = new int[4];
+    private int size;
+
+    void add(int doc) {
+        // Documents are assigned increasing ids, so appending keeps the list sorted
+        if (size > 0 && docs[size - 1] == doc) {
+            return;
+        }
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+        }
+        docs[size++] = doc;
+    }
+
+    /**
+     * Maps every document to {@code renumbered[doc]}, dropping those mapped to -1, and
+     * returns the new size. The mapping must keep the surviving documents in order.
+     */
+    int renumber(int[] renumbered) {
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            int doc = renumbered[docs[i]];
+            if (doc >= 0) {
+                docs[n++] = doc;
+            }
+        }
+        size = n;
+        return size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int doc) {
+        return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+    }
+
+    /**
+     * Sorted union of two lists, either of which may be null.
+     */
+    static int[] union(PostingList a, PostingList b) {
+        int[] x = a == null ? new int[0] : a.docs;
+        int xLen = a == null ? 0 : a.size;
+        int[] y = b == null ? new int[0] : b.docs;
+        int yLen = b == null ? 0 : b.size;
+
+        int[] out = new int[xLen + yLen];
+        int i = 0, j = 0, n = 0;
+        while (i < xLen && j < yLen) {
+            if (x[i] < y[j]) {
+                out[n++] = x[i++];
+            } else if (x[i] > y[j]) {
+                out[n++] = y[j++];
+            } else {
+                out[n++] = x[i++];
+                j++;
+            }
+        }
+        while (i < xLen) {
+            out[n++] = x[i++];
+        }
+        while (j < yLen) {
+            out[n++] = y[j++];
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Sorted intersection of two sorted arrays.
+     */
+    static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
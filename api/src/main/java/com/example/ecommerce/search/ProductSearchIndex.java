@@ -0,0 +1,359 @@
+package com.example.ecommerce.search;
+
+import com.example.ecommerce.model.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over product name and description.
+ *
+ * <p>Each token is indexed by its trigrams plus its one- and two-character prefixes,
+ * so a query token matches any indexed token that contains it (or, for queries shorter
+ * than three characters, starts with it). A product matches when every query token
+ * matches a token of its name or description. Gram lists only narrow the candidates:
+ * each one is then checked against its indexed tokens, so grams spread over several words
+ * or both fields do not make a match. Results are ranked by idf-weighted gram hits, with
+ * name hits weighted above description hits; only the results up to the requested page
+ * are ordered.
+ *
+ * <p>Re-indexing a product whose text changed tombstones its old document. Once tombstones
+ * outnumber the live documents, the index is compacted: live documents are renumbered in
+ * order and dead ones dropped from every posting list.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> nameIndex = new HashMap<>();
+    private final Map<String, PostingList> descriptionIndex = new HashMap<>();
+    private final List<String> docProductIds = new ArrayList<>();
+    private final Map<String, Integer> productDocs = new HashMap<>();
+    private final BitSet deletedDocs = new BitSet();
+    private final List<String> docTerms = new ArrayList<>(); // See terms()
+    private int deletedCount;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        Query query = new Query().cursorBatchSize(1000);
+        query.fields().include("name", "description");
+
+        long count = 0;
+        try (Stream<Product> products = mongoTemplate.stream(query, Product.class)) {
+            for (Product product : (Iterable<Product>) products::iterator) {
+                index(product);
+                count++;
+            }
+        }
+        log.info("Built product search index: {} products, {} grams in {} ms",
+                count, nameIndex.size() + descriptionIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Adds or replaces a product in the index. A product whose name and description hold
+     * the same words as before is left as it is; returns whether the index changed.
+     */
+    public boolean index(Product product) {
+        String terms = terms(product.getName(), product.getDescription());
+        lock.readLock().lock();
+        try {
+            Integer previous = productDocs.get(product.getId());
+            if (previous != null && docTerms.get(previous).equals(terms)) {
+                return false;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Set<String> nameGrams = grams(product.getName());
+        Set<String> descriptionGrams = grams(product.getDescription());
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = productDocs.get(product.getId());
+            if (previous != null) {
+                deletedDocs.set(previous);
+                deletedCount++;
+            }
+
+            int doc = docProductIds.size();
+            docProductIds.add(product.getId());
+            productDocs.put(product.getId(), doc);
+            docTerms.add(terms);
+            for (String gram : nameGrams) {
+                nameIndex.computeIfAbsent(gram, g -> new PostingList()).add(doc);
+            }
+            for (String gram : descriptionGrams) {
+                descriptionIndex.computeIfAbsent(gram, g -> new PostingList()).add(doc);
+            }
+
+            if (deletedCount >= MIN_TOMBSTONES_TO_COMPACT && deletedCount > docProductIds.size() - deletedCount) {
+                compact();
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of matching products, best match first.
+     */
+    public List<String> search(String query, int offset, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        offset = Math.max(offset, 0);
+        List<Set<String>> tokenGrams = new ArrayList<>();
+        for (String token : tokens) {
+            tokenGrams.add(tokenGrams(token));
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = null;
+            for (Set<String> grams : tokenGrams) {
+                for (String gram : grams) {
+                    int[] docs = PostingList.union(nameIndex.get(gram), descriptionIndex.get(gram));
+                    candidates = candidates == null ? docs : PostingList.intersect(candidates, docs);
+                    if (candidates.length == 0) {
+                        return List.of();
+                    }
+                }
+            }
+
+            // Keep the live candidates whose tokens really contain every query token, in place
+            int matches = 0;
+            for (int doc : candidates) {
+                if (!deletedDocs.get(doc) && containsAll(docTerms.get(doc), tokens)) {
+                    candidates[matches++] = doc;
+                }
+            }
+            if (matches <= offset) {
+                return List.of();
+            }
+
+            double docCount = docProductIds.size();
+            double[] scores = new double[matches];
+            for (Set<String> grams : tokenGrams) {
+                for (String gram : grams) {
+                    PostingList name = nameIndex.get(gram);
+                    PostingList description = descriptionIndex.get(gram);
+                    int df = (name == null ? 0 : name.size()) + (description == null ? 0 : description.size());
+                    double idf = Math.log(1 + docCount / df);
+                    for (int i = 0; i < matches; i++) {
+                        scores[i] += idf * (name != null && name.contains(candidates[i])
+                                ? NAME_WEIGHT : DESCRIPTION_WEIGHT);
+                    }
+                }
+            }
+
+            int[] top = topMatches(candidates, scores, matches, (int) Math.min((long) offset + limit, matches));
+            List<String> productIds = new ArrayList<>(top.length - offset);
+            for (int i = offset; i < top.length; i++) {
+                productIds.add(docProductIds.get(candidates[top[i]]));
+            }
+            return productIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documents in the index, live and tombstoned
+    int docCount() {
+        lock.readLock().lock();
+        try {
+            return docProductIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Renumbers the live documents in their current order, so every posting list stays sorted.
+    // Called with the write lock held
+    private void compact() {
+        long start = System.currentTimeMillis();
+        int[] renumbered = new int[docProductIds.size()];
+        List<String> liveProductIds = new ArrayList<>(docProductIds.size() - deletedCount);
+        List<String> liveTerms = new ArrayList<>(docProductIds.size() - deletedCount);
+        for (int doc = 0; doc < docProductIds.size(); doc++) {
+            if (deletedDocs.get(doc)) {
+                renumbered[doc] = -1;
+            } else {
+                renumbered[doc] = liveProductIds.size();
+                liveProductIds.add(docProductIds.get(doc));
+                liveTerms.add(docTerms.get(doc));
+            }
+        }
+
+        nameIndex.values().removeIf(postings -> postings.renumber(renumbered) == 0);
+        descriptionIndex.values().removeIf(postings -> postings.renumber(renumbered) == 0);
+        productDocs.replaceAll((productId, doc) -> renumbered[doc]);
+        docProductIds.clear();
+        docProductIds.addAll(liveProductIds);
+        docTerms.clear();
+        docTerms.addAll(liveTerms);
+        deletedDocs.clear();
+        log.info("Compacted product search index: dropped {} tombstones in {} ms",
+                deletedCount, System.currentTimeMillis() - start);
+        deletedCount = 0;
+    }
+
+    /**
+     * Orders the {@code k} best of the first {@code matches} candidates, best first, and
+     * returns their positions. A bounded min-heap keeps the worst of the current best at its
+     * root, so each candidate costs at most one sift over {@code k} entries.
+     */
+    private static int[] topMatches(int[] docs, double[] scores, int matches, int k) {
+        int[] heap = new int[k];
+        int size = 0;
+        for (int i = 0; i < matches; i++) {
+            if (size < k) {
+                heap[size] = i;
+                siftUp(heap, size++, docs, scores);
+            } else if (ranksAbove(i, heap[0], docs, scores)) {
+                heap[0] = i;
+                siftDown(heap, size, docs, scores);
+            }
+        }
+        // Repeatedly move the worst remaining entry to the end of the heap's range
+        for (int end = size - 1; end > 0; end--) {
+            int worst = heap[0];
+            heap[0] = heap[end];
+            heap[end] = worst;
+            siftDown(heap, end, docs, scores);
+        }
+        return heap;
+    }
+
+    // Higher score first, then lower document number, so equal scores keep insertion order
+    private static boolean ranksAbove(int a, int b, int[] docs, double[] scores) {
+        return scores[a] != scores[b] ? scores[a] > scores[b] : docs[a] < docs[b];
+    }
+
+    private static void siftUp(int[] heap, int i, int[] docs, double[] scores) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!ranksAbove(heap[parent], heap[i], docs, scores)) {
+                return;
+            }
+            swap(heap, parent, i);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, int[] docs, double[] scores) {
+        int i = 0;
+        while (true) {
+            int worst = i;
+            for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                if (ranksAbove(heap[worst], heap[child], docs, scores)) {
+                    worst = child;
+                }
+            }
+            if (worst == i) {
+                return;
+            }
+            swap(heap, i, worst);
+            i = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int entry = heap[i];
+        heap[i] = heap[j];
+        heap[j] = entry;
+    }
+
+    /**
+     * The document's name tokens, then its description tokens, each preceded by a space and
+     * the two fields separated by {@code " |"}. Tokens hold only letters and digits, so a
+     * query token found in this string lies within a single token of a single field.
+     */
+    private static String terms(String name, String description) {
+        StringBuilder terms = new StringBuilder();
+        for (String token : tokenize(name)) {
+            terms.append(' ').append(token);
+        }
+        terms.append(" |");
+        for (String token : tokenize(description)) {
+            terms.append(' ').append(token);
+        }
+        return terms.toString();
+    }
+
+    // Mirrors the gram rules: a short query token must start an indexed token, a longer one lie within one
+    private static boolean containsAll(String terms, List<String> tokens) {
+        for (String token : tokens) {
+            if (!terms.contains(token.length() < GRAM_SIZE ? " " + token : token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String token : tokenize(text)) {
+            for (int length = 1; length < GRAM_SIZE && length <= token.length(); length++) {
+                grams.add(token.substring(0, length));
+            }
+            for (int i = 0; i + GRAM_SIZE <= token.length(); i++) {
+                grams.add(token.substring(i, i + GRAM_SIZE));
+            }
+        }
+        return grams;
+    }
+
+    // Grams a query token must match: its trigrams, or the token itself when shorter
+    private static Set<String> tokenGrams(String token) {
+        if (token.length() < GRAM_SIZE) {
+            return Set.of(token);
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= token.length(); i++) {
+            grams.add(token.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+}
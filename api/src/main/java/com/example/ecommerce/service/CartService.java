@@ -0,0 +1,96 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.AddToCartRequest;
+import com.example.ecommerce.dto.CartItemResponse;
+import com.example.ecommerce.dto.FieldSelector;
+import com.example.ecommerce.dto.ProductSummary;
+import com.example.ecommerce.metrics.CommerceMetrics;
+import com.example.ecommerce.model.Cart;
+import com.example.ecommerce.model.CartLine;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.repository.CartRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CartService {
+
+    private final CartRepository cartRepository;
+    private final ProductService productService;
+    private final ReservationService reservationService;
+    private final CommerceMetrics metrics;
+
+    public CartItemResponse addToCart(AddToCartRequest request) {
+        log.debug("Adding to cart: userId={}, productId={}, quantity={}",
+                request.getUserId(), request.getProductId(), request.getQuantity());
+
+        // Validate product exists, reading current stock rather than a cached copy
+        Product product = productService.getFreshProductById(request.getProductId());
+
+        // Hold the units until checkout or until the reservation expires
+        String userId = request.getUserId();
+        String productId = request.getProductId();
+        int quantity = request.getQuantity();
+        if (!reservationService.hold(userId, productId, quantity)) {
+            throw new IllegalArgumentException("Insufficient stock available. Available: " + product.availableStock());
+        }
+
+        // Bump the existing line or append a new one, in one atomic update
+        Optional<Integer> lineQuantity = cartRepository.addToLine(userId, productId, quantity, product.getStock());
+
+        // Nothing applied: the line exists and the new quantity would exceed physical stock
+        if (lineQuantity.isEmpty()) {
+            reservationService.unhold(userId, productId, quantity);
+            throw new IllegalArgumentException("Insufficient stock available. Available: " + product.availableStock());
+        }
+        log.debug("Cart line for product {} now has quantity {}", productId, lineQuantity.get());
+
+        return CartItemResponse.builder()
+                .productId(productId)
+                .quantity(lineQuantity.get())
+                .product(ProductSummary.from(product, ProductSummary.DEFAULT_FIELDS))
+                .build();
+    }
+
+    /**
+     * Returns the user's cart lines; {@code fields} selects the {@link ProductSummary}
+     * fields shown for each line, null for the defaults.
+     */
+    public List<CartItemResponse> getCartItems(String userId, String fields) {
+        log.debug("Fetching cart items for user: {}", userId);
+        Set<String> selected = FieldSelector.parse(fields, ProductSummary.FIELDS, ProductSummary.DEFAULT_FIELDS);
+        List<CartLine> lines = cartRepository.findById(userId)
+                .map(Cart::getLines)
+                .orElse(List.of());
+        metrics.cartViewed(lines.size());
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, ProductSummary> products = productService.getSummariesByIds(
+                lines.stream().map(CartLine::getProductId).collect(Collectors.toList()), selected);
+
+        return lines.stream()
+                .map(line -> CartItemResponse.builder()
+                        .productId(line.getProductId())
+                        .quantity(line.getQuantity())
+                        .product(products.get(line.getProductId()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    public void clearCart(String userId) {
+        log.debug("Clearing cart for user: {}", userId);
+        cartRepository.deleteById(userId);
+        reservationService.releaseAll(userId);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes collections as newline-delimited JSON straight from a Mongo cursor,
+ * so memory use does not depend on collection size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${export.cursor-batch-size:500}")
+    private int cursorBatchSize;
+
+    public long exportProducts(OutputStream out) throws IOException {
+        Query query = new Query().cursorBatchSize(cursorBatchSize);
+        try (Stream<Product> products = mongoTemplate.stream(query, Product.class)) {
+            long count = writeNdjson(products.iterator(), out);
+            log.info("Exported {} products", count);
+            return count;
+        }
+    }
+
+    public long exportOrders(Instant from, Instant to, OutputStream out) throws IOException {
+        Query query = ordersCreatedBetween(from, to).cursorBatchSize(cursorBatchSize);
+        try (Stream<Order> orders = mongoTemplate.stream(query, Order.class)) {
+            long count = writeNdjson(orders.iterator(), out);
+            log.info("Exported {} orders created between {} and {}", count, from, to);
+            return count;
+        }
+    }
+
+    // Served by the createdAt index
+    public static Query ordersCreatedBetween(Instant from, Instant to) {
+        return Query.query(Criteria.where("createdAt").gte(from).lt(to));
+    }
+
+    private long writeNdjson(Iterator<?> documents, OutputStream out) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        long count = 0;
+        while (documents.hasNext()) {
+            buffered.write(objectMapper.writeValueAsBytes(documents.next()));
+            buffered.write('\n');
+            count++;
+            // Flush the first line right away so clients see bytes before the cursor is drained
+            if (count == 1 || count % FLUSH_EVERY == 0) {
+                buffered.flush();
+            }
+        }
+        buffered.flush();
+        return count;
+    }
+}
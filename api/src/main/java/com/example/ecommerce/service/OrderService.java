@@ -0,0 +1,528 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.config.ReadRouting;
+import com.example.ecommerce.dto.BulkOrderEntry;
+import com.example.ecommerce.dto.BulkOrderResult;
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.FieldSelector;
+import com.example.ecommerce.dto.OrderLineRequest;
+import com.example.ecommerce.dto.OrderResponse;
+import com.example.ecommerce.dto.OrderSummary;
+import com.example.ecommerce.dto.PageCursor;
+import com.example.ecommerce.exception.InsufficientStockException;
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.metrics.CommerceMetrics;
+import com.example.ecommerce.model.*;
+import com.example.ecommerce.repository.CartRepository;
+import com.example.ecommerce.repository.OrderItemRepository;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderService {
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final CartRepository cartRepository;
+    private final PaymentRepository paymentRepository;
+    private final ProductService productService;
+    private final ReservationService reservationService;
+    private final ReadRouting readRouting;
+    private final CommerceMetrics metrics;
+
+    // When true, new orders embed their line items instead of writing order_items rows
+    @Value("${order.storage.embedded:false}")
+    private boolean embeddedItems;
+
+    // Bulk submissions are validated, stock-checked and written this many orders at a time
+    @Value("${order.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    @Transactional
+    public OrderResponse createOrder(String userId) {
+        log.debug("Creating order for user: {}", userId);
+        long start = System.nanoTime();
+
+        // Get cart lines in one read
+        List<CartLine> cartItems = cartRepository.findById(userId)
+                .map(Cart::getLines)
+                .orElse(List.of());
+
+        if (cartItems.isEmpty()) {
+            throw new IllegalArgumentException("Cart is empty");
+        }
+
+        // Resolve all products in one fresh query, then validate stock and calculate total
+        Map<String, Product> products = productService.getFreshProductsByIds(
+                cartItems.stream().map(CartLine::getProductId).collect(Collectors.toList()));
+
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        double totalAmount = 0.0;
+        for (CartLine cartItem : cartItems) {
+            quantities.merge(cartItem.getProductId(), cartItem.getQuantity(), Integer::sum);
+            totalAmount += products.get(cartItem.getProductId()).getPrice() * cartItem.getQuantity();
+        }
+
+        // Take over the user's holds; their units count towards this order even if they have expired
+        ReservationService.Claim claim = reservationService.claim(userId, quantities.keySet());
+        Map<String, Integer> claimed = claim.quantities();
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+            if (product.availableStock() + claimed.getOrDefault(line.getKey(), 0) < line.getValue()) {
+                reservationService.restore(claim);
+                metrics.stockCheckFailed();
+                throw new IllegalArgumentException("Insufficient stock for product: " + product.getName());
+            }
+        }
+
+        // Decrement stock with one conditional update per line, converting the claimed holds;
+        // this is the authoritative check, and a rejected line undoes the lines that applied
+        try {
+            productService.decrementStock(quantities, claimed);
+        } catch (InsufficientStockException e) {
+            reservationService.restore(claim);
+            metrics.stockCheckFailed();
+            String names = e.getProductIds().stream()
+                    .map(id -> products.get(id).getName())
+                    .collect(Collectors.joining(", "));
+            throw new InsufficientStockException("Insufficient stock for product: " + names, e.getProductIds());
+        } catch (RuntimeException e) {
+            reservationService.restore(claim);
+            throw e;
+        }
+        // The claimed units are now part of the decrement
+        reservationService.complete(claim);
+
+        // The id is assigned up front so embedded orders can be written with a single insert
+        String orderId = new ObjectId().toHexString();
+        Order order;
+        List<OrderItem> orderItems;
+        try {
+            // Create order items with snapshot price
+            orderItems = cartItems.stream()
+                    .map(cartItem -> OrderItem.builder()
+                            .orderId(orderId)
+                            .productId(cartItem.getProductId())
+                            .quantity(cartItem.getQuantity())
+                            .price(products.get(cartItem.getProductId()).getPrice())
+                            .build())
+                    .collect(Collectors.toList());
+
+            // Create order
+            order = Order.builder()
+                    .id(orderId)
+                    .userId(userId)
+                    .totalAmount(totalAmount)
+                    .status("CREATED")
+                    .createdAt(Instant.now())
+                    .items(embeddedItems
+                            ? orderItems.stream().map(OrderLine::from).collect(Collectors.toList())
+                            : null)
+                    .build();
+            readRouting.userWrote(userId);
+            order = orderRepository.insert(order);
+            log.debug("Order created with id: {}", order.getId());
+
+            if (!embeddedItems) {
+                orderItemRepository.saveAll(orderItems);
+                log.debug("Created {} order items", orderItems.size());
+            }
+        } catch (RuntimeException e) {
+            // The order may have been inserted before its items failed; remove it, as the bulk
+            // path does, before giving the stock back
+            log.error("Failed to persist order for user {}, removing it and restoring stock", userId);
+            orderRepository.deleteById(orderId);
+            if (!embeddedItems) {
+                orderItemRepository.deleteByOrderIdIn(List.of(orderId));
+            }
+            productService.restoreStock(quantities);
+            throw e;
+        }
+
+        // Clear cart
+        cartRepository.deleteById(userId);
+        log.debug("Cart cleared for user: {}", userId);
+        metrics.orderCreated(cartItems.size(), System.nanoTime() - start);
+
+        return OrderResponse.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .totalAmount(order.getTotalAmount())
+                .status(order.getStatus())
+                .createdAt(order.getCreatedAt())
+                .items(orderItems)
+                .build();
+    }
+
+    /**
+     * Creates orders from a bulk submission without going through carts. Orders are
+     * handled in chunks: each chunk needs one product read, one conditional stock update
+     * per product it orders and one insert per collection, and its results are passed
+     * to {@code chunkResults} before the next chunk starts. Stock is allocated in
+     * submission order; orders that are malformed or do not fit are rejected while the
+     * rest go through. A chunk that fails outright, after its writes have been undone,
+     * rejects all of its orders with the error and the next chunk still runs.
+     */
+    public void createOrders(List<BulkOrderEntry> entries, Consumer<List<BulkOrderResult>> chunkResults) {
+        log.debug("Creating {} orders in bulk", entries.size());
+        for (int from = 0; from < entries.size(); from += bulkChunkSize) {
+            int to = Math.min(from + bulkChunkSize, entries.size());
+            List<BulkOrderEntry> chunk = entries.subList(from, to);
+            List<BulkOrderResult> results;
+            try {
+                results = createOrderChunk(chunk, from);
+            } catch (RuntimeException e) {
+                log.error("Bulk order chunk {}-{} failed: {}", from, to - 1, e.getMessage());
+                results = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(rejected(from + i, chunk.get(i), "Order could not be created: " + e.getMessage()));
+                }
+            }
+            chunkResults.accept(results);
+        }
+    }
+
+    public OrderResponse getOrderById(String orderId) {
+        log.debug("Fetching order with id: {}", orderId);
+
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+
+        List<OrderItem> orderItems;
+        Payment payment;
+        if (order.getItems() != null) {
+            // Embedded aggregate: everything came back with the order document
+            orderItems = toOrderItems(order);
+            payment = order.getPayment() == null ? null : order.getPayment().toPayment(orderId);
+        } else {
+            orderItems = orderItemRepository.findByOrderId(orderId);
+            payment = paymentRepository.findByOrderId(orderId).orElse(null);
+        }
+
+        return OrderResponse.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .totalAmount(order.getTotalAmount())
+                .status(order.getStatus())
+                .createdAt(order.getCreatedAt())
+                .items(orderItems)
+                .payment(payment)
+                .build();
+    }
+
+    /**
+     * Sets the order status and, if {@code payment} is given, refreshes the embedded
+     * payment summary in the same update.
+     */
+    public void updateOrderStatus(String orderId, String status, Payment payment) {
+        log.debug("Updating order {}: status={}, payment={}", orderId, status,
+                payment == null ? null : payment.getStatus());
+
+        PaymentSummary summary = payment == null ? null : PaymentSummary.from(payment);
+        if (!orderRepository.updateStatusAndPayment(orderId, status, summary)) {
+            throw new ResourceNotFoundException("Order not found with id: " + orderId);
+        }
+    }
+
+    /**
+     * Returns one page of the user's orders, newest first, using the
+     * {@code (userId, createdAt)} index. {@code cursor} is null for the first page;
+     * {@code fields} selects the {@link OrderSummary} fields to read, null for the defaults.
+     */
+    public CursorPage<OrderSummary> getUserOrders(String userId, String cursor, Integer size, String fields) {
+        int pageSize = PageCursor.clampSize(size);
+        Set<String> selected = FieldSelector.parse(fields, OrderSummary.FIELDS, OrderSummary.DEFAULT_FIELDS);
+        log.debug("Fetching orders for user: {}", userId);
+
+        Instant createdAt = null;
+        String lastId = null;
+        if (cursor != null) {
+            String[] position = PageCursor.decode(cursor, 2);
+            try {
+                createdAt = Instant.ofEpochMilli(Long.parseLong(position[0]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            lastId = position[1];
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<OrderSummary> orders =
+                orderRepository.findUserOrdersBefore(userId, createdAt, lastId, pageSize + 1, selected);
+
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            OrderSummary last = orders.get(pageSize - 1);
+            nextCursor = PageCursor.encode(String.valueOf(last.getCreatedAt().toEpochMilli()), last.getId());
+        }
+        if (!selected.contains("createdAt")) {
+            orders.forEach(order -> order.setCreatedAt(null));
+        }
+        return CursorPage.<OrderSummary>builder()
+                .items(orders)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Transactional
+    public OrderResponse cancelOrder(String orderId) {
+        log.debug("Cancelling order: {}", orderId);
+
+        // Get order
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+
+        // Validate order status - only CREATED orders can be cancelled
+        if (!"CREATED".equals(order.getStatus())) {
+            throw new IllegalArgumentException("Cannot cancel order with status: " + order.getStatus()
+                    + ". Only CREATED orders can be cancelled.");
+        }
+
+        // Get order items to restore stock
+        List<OrderItem> orderItems = order.getItems() != null
+                ? toOrderItems(order)
+                : orderItemRepository.findByOrderId(orderId);
+
+        // Flip the status first and only if it is still CREATED, so a concurrent cancel or
+        // payment result wins or loses as a whole and stock is restored once
+        readRouting.userWrote(order.getUserId());
+        if (!orderRepository.updateStatusIf(orderId, "CREATED", "CANCELLED")) {
+            String status = orderRepository.findById(orderId).map(Order::getStatus).orElse(null);
+            throw new IllegalArgumentException("Cannot cancel order with status: " + status
+                    + ". Only CREATED orders can be cancelled.");
+        }
+        order.setStatus("CANCELLED");
+
+        // Restore stock for all items in one bulk write
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem item : orderItems) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        try {
+            productService.restoreStock(quantities);
+        } catch (RuntimeException e) {
+            log.error("Failed to restore stock for cancelled order {}, reopening it", orderId);
+            orderRepository.updateStatusIf(orderId, "CANCELLED", "CREATED");
+            throw e;
+        }
+
+        log.debug("Order {} cancelled successfully. Stock restored.", orderId);
+        metrics.orderCancelled();
+
+        return OrderResponse.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .totalAmount(order.getTotalAmount())
+                .status(order.getStatus())
+                .createdAt(order.getCreatedAt())
+                .items(orderItems)
+                .build();
+    }
+
+    private List<OrderItem> toOrderItems(Order order) {
+        return order.getItems().stream()
+                .map(line -> line.toOrderItem(order.getId()))
+                .collect(Collectors.toList());
+    }
+
+    private List<BulkOrderResult> createOrderChunk(List<BulkOrderEntry> entries, int offset) {
+        BulkOrderResult[] results = new BulkOrderResult[entries.size()];
+
+        // All products of the chunk in one fresh read; unknown ids reject their orders below
+        Map<String, Product> products = productService.findFreshProductsByIds(entries.stream()
+                .filter(entry -> entry.getItems() != null)
+                .flatMap(entry -> entry.getItems().stream())
+                .filter(Objects::nonNull)
+                .map(OrderLineRequest::getProductId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        // Aggregated pass: allocate the stock just read to orders in submission order
+        Map<String, Integer> available = new HashMap<>();
+        products.forEach((id, product) -> available.put(id, product.availableStock()));
+        Map<Integer, Map<String, Integer>> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            Map<String, Integer> quantities = new LinkedHashMap<>();
+            String error = validateBulkEntry(entries.get(i), products, quantities);
+            if (error == null) {
+                error = allocateStock(quantities, available, products);
+            }
+            if (error == null) {
+                accepted.put(i, quantities);
+            } else {
+                results[i] = rejected(offset + i, entries.get(i), error);
+            }
+        }
+
+        // One conditional decrement per product for the chunk. If stock moved since the read, drop the
+        // orders that need the short products and retry with the rest; each retry drops at least one
+        Map<String, Integer> totals = sumQuantities(accepted.values());
+        while (!totals.isEmpty()) {
+            try {
+                productService.decrementStock(totals);
+                break;
+            } catch (InsufficientStockException e) {
+                metrics.stockCheckFailed();
+                accepted.entrySet().removeIf(order -> {
+                    if (Collections.disjoint(order.getValue().keySet(), e.getProductIds())) {
+                        return false;
+                    }
+                    String names = order.getValue().keySet().stream()
+                            .filter(e.getProductIds()::contains)
+                            .map(id -> products.get(id).getName())
+                            .collect(Collectors.joining(", "));
+                    results[order.getKey()] = rejected(offset + order.getKey(), entries.get(order.getKey()),
+                            "Insufficient stock for product: " + names);
+                    return true;
+                });
+                totals = sumQuantities(accepted.values());
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            insertBulkOrders(entries, accepted, products, totals, offset, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    // Ids are assigned up front so orders and their items go out as one insert each
+    private void insertBulkOrders(List<BulkOrderEntry> entries, Map<Integer, Map<String, Integer>> accepted,
+                                  Map<String, Product> products, Map<String, Integer> totals, int offset,
+                                  BulkOrderResult[] results) {
+        Instant now = Instant.now();
+        List<Order> orders = new ArrayList<>(accepted.size());
+        List<OrderItem> orderItems = new ArrayList<>();
+        accepted.forEach((i, quantities) -> {
+            String orderId = new ObjectId().toHexString();
+            List<OrderItem> items = new ArrayList<>(quantities.size());
+            double totalAmount = 0.0;
+            for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+                double price = products.get(line.getKey()).getPrice();
+                items.add(OrderItem.builder()
+                        .orderId(orderId)
+                        .productId(line.getKey())
+                        .quantity(line.getValue())
+                        .price(price)
+                        .build());
+                totalAmount += price * line.getValue();
+            }
+
+            orders.add(Order.builder()
+                    .id(orderId)
+                    .userId(entries.get(i).getUserId())
+                    .totalAmount(totalAmount)
+                    .status("CREATED")
+                    .createdAt(now)
+                    .items(embeddedItems
+                            ? items.stream().map(OrderLine::from).collect(Collectors.toList())
+                            : null)
+                    .build());
+            orderItems.addAll(items);
+            results[i] = BulkOrderResult.builder()
+                    .index(offset + i)
+                    .reference(entries.get(i).getReference())
+                    .status("CREATED")
+                    .orderId(orderId)
+                    .totalAmount(totalAmount)
+                    .build();
+        });
+
+        try {
+            orders.forEach(order -> readRouting.userWrote(order.getUserId()));
+            orderRepository.insert(orders);
+            if (!embeddedItems) {
+                orderItemRepository.insert(orderItems);
+            }
+        } catch (RuntimeException e) {
+            // Either insert may have written part of the chunk. Remove whatever made it before
+            // giving the stock back; if that fails too, the orders keep their stock
+            log.error("Failed to persist {} bulk orders, removing them and restoring stock", orders.size());
+            List<String> orderIds = orders.stream().map(Order::getId).collect(Collectors.toList());
+            orderRepository.deleteAllById(orderIds);
+            if (!embeddedItems) {
+                orderItemRepository.deleteByOrderIdIn(orderIds);
+            }
+            productService.restoreStock(totals);
+            throw e;
+        }
+        metrics.bulkOrdersCreated(orders.size());
+        log.debug("Bulk created {} orders with {} items", orders.size(), orderItems.size());
+    }
+
+    // Null if the entry is well formed and all its products exist; fills the quantity per product
+    private static String validateBulkEntry(BulkOrderEntry entry, Map<String, Product> products,
+                                            Map<String, Integer> quantities) {
+        if (entry == null || entry.getUserId() == null || entry.getUserId().isBlank()) {
+            return "User ID is required";
+        }
+        if (entry.getItems() == null || entry.getItems().isEmpty()) {
+            return "Order must have at least one item";
+        }
+        for (OrderLineRequest line : entry.getItems()) {
+            if (line == null || line.getProductId() == null || line.getProductId().isBlank()) {
+                return "Product ID is required";
+            }
+            if (line.getQuantity() == null || line.getQuantity() < 1) {
+                return "Quantity must be at least 1";
+            }
+            if (!products.containsKey(line.getProductId())) {
+                return "Product not found with id: " + line.getProductId();
+            }
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        return null;
+    }
+
+    // Takes the order's quantities out of available, or returns why it cannot
+    private String allocateStock(Map<String, Integer> quantities, Map<String, Integer> available,
+                                 Map<String, Product> products) {
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            if (available.get(line.getKey()) < line.getValue()) {
+                metrics.stockCheckFailed();
+                return "Insufficient stock for product: " + products.get(line.getKey()).getName();
+            }
+        }
+        quantities.forEach((productId, quantity) -> available.merge(productId, -quantity, Integer::sum));
+        return null;
+    }
+
+    private static Map<String, Integer> sumQuantities(Collection<Map<String, Integer>> orders) {
+        Map<String, Integer> totals = new LinkedHashMap<>();
+        for (Map<String, Integer> quantities : orders) {
+            quantities.forEach((productId, quantity) -> totals.merge(productId, quantity, Integer::sum));
+        }
+        return totals;
+    }
+
+    private static BulkOrderResult rejected(int index, BulkOrderEntry entry, String error) {
+        return BulkOrderResult.builder()
+                .index(index)
+                .reference(entry == null ? null : entry.getReference())
+                .status("REJECTED")
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.PaymentWebhookRequest;
+import com.example.ecommerce.model.Payment;
+import com.example.ecommerce.model.PaymentDelivery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers queued payment service calls in the background. The outbox state lives in
+ * each payment's {@code delivery} field, written by the same insert that creates the
+ * payment, so a payment can never exist without its queued call.
+ *
+ * <p>Each poll claims a batch of due deliveries with a claim token, sends them in parallel
+ * and records every outcome in one bulk write. Failed sends are retried with exponential
+ * backoff and jitter; once {@code max-attempts} is reached the payment and its order are
+ * marked FAILED, so nothing is left PENDING forever. Deliveries claimed by a dispatcher
+ * that died are picked up again once their lock expires.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentOutboxDispatcher implements InitializingBean, DisposableBean {
+
+    private final MongoTemplate mongoTemplate;
+    private final PaymentServiceClient paymentServiceClient;
+    private final PaymentService paymentService;
+
+    @Value("${payment.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${payment.outbox.parallelism:4}")
+    private int parallelism;
+
+    @Value("${payment.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${payment.outbox.base-backoff:1s}")
+    private Duration baseBackoff;
+
+    @Value("${payment.outbox.max-backoff:5m}")
+    private Duration maxBackoff;
+
+    @Value("${payment.outbox.lock-timeout:1m}")
+    private Duration lockTimeout;
+
+    private ExecutorService senders;
+
+    @Override
+    public void afterPropertiesSet() {
+        senders = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "payment-outbox-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${payment.outbox.poll-interval-ms:250}")
+    public void dispatch() {
+        List<Payment> batch;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private List<Payment> claimBatch() {
+        Instant now = Instant.now();
+        Criteria due = due(now);
+
+        Query candidates = Query.query(due)
+                .with(Sort.by(Sort.Direction.ASC, "delivery.nextAttemptAt"))
+                .limit(batchSize);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, Payment.class).stream()
+                .map(Payment::getId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Only deliveries still due when the update runs are claimed, so concurrent dispatchers never share one
+        String token = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(ids).andOperator(due)),
+                new Update().set("delivery.status", "SENDING")
+                        .set("delivery.claimToken", token)
+                        .set("delivery.lockedUntil", now.plus(lockTimeout)),
+                Payment.class);
+        Query claimed = Query.query(Criteria.where("_id").in(ids).and("delivery.claimToken").is(token));
+        claimed.fields().include("orderId", "amount", "createdAt", "delivery");
+        return mongoTemplate.find(claimed, Payment.class);
+    }
+
+    private void deliver(List<Payment> batch) {
+        List<CompletableFuture<String>> sends = new ArrayList<>();
+        for (Payment payment : batch) {
+            sends.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    paymentServiceClient.createPayment(payload(payment));
+                    return null;
+                } catch (Exception e) {
+                    return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+                }
+            }, senders));
+        }
+
+        Instant now = Instant.now();
+        BulkOperations results = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Payment.class);
+        int delivered = 0;
+        int exhausted = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            Payment payment = batch.get(i);
+            PaymentDelivery delivery = payment.getDelivery();
+            String error = sends.get(i).join();
+            int attempts = delivery.getAttempts() + 1;
+            Query claimed = Query.query(Criteria.where("_id").is(payment.getId())
+                    .and("delivery.claimToken").is(delivery.getClaimToken()));
+            Update update = new Update().set("delivery.attempts", attempts)
+                    .unset("delivery.claimToken").unset("delivery.lockedUntil");
+
+            if (error == null) {
+                update.set("delivery.status", "DELIVERED").set("delivery.deliveredAt", now)
+                        .unset("delivery.lastError");
+                delivered++;
+            } else if (attempts >= maxAttempts) {
+                // Fail the payment before giving up on the delivery; if that does not happen the
+                // claim expires and the next dispatcher tries both again
+                if (!failPayment(payment, error)) {
+                    continue;
+                }
+                update.set("delivery.status", "FAILED").set("delivery.lastError", error);
+                exhausted++;
+            } else {
+                update.set("delivery.status", "PENDING").set("delivery.lastError", error)
+                        .set("delivery.nextAttemptAt", now.plus(backoff(attempts)));
+            }
+            results.updateOne(claimed, update);
+        }
+        results.execute();
+
+        if (delivered < batch.size()) {
+            log.warn("Payment outbox batch: {} delivered, {} failed, {} exhausted",
+                    delivered, batch.size() - delivered, exhausted);
+        }
+    }
+
+    // Due for a first or retried send, or claimed by a dispatcher that died
+    public static Criteria due(Instant now) {
+        return new Criteria().orOperator(
+                Criteria.where("delivery.status").is("PENDING").and("delivery.nextAttemptAt").lte(now),
+                Criteria.where("delivery.status").is("SENDING").and("delivery.lockedUntil").lt(now));
+    }
+
+    private static Map<String, Object> payload(Payment payment) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("orderId", payment.getOrderId());
+        payload.put("amount", payment.getAmount());
+        payload.put("paymentId", payment.getId());
+        payload.put("requestedAt", payment.getCreatedAt());
+        return payload;
+    }
+
+    private Duration backoff(int attempts) {
+        long exponential = baseBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(exponential, maxBackoff.toMillis());
+        // Jitter in [capped/2, capped] spreads retries out after a payment-service outage
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+
+    private boolean failPayment(Payment payment, String error) {
+        try {
+            // Same conditional path as a FAILED webhook, so a SUCCESS that already arrived is kept
+            paymentService.applyPaymentResults(List.of(PaymentWebhookRequest.builder()
+                    .orderId(payment.getOrderId())
+                    .status("FAILED")
+                    .message("Payment service unreachable: " + error)
+                    .build()));
+            log.error("Payment {} marked FAILED after {} delivery attempts: {}", payment.getId(), maxAttempts, error);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to mark payment {} as FAILED: {}", payment.getId(), e.getMessage());
+            return false;
+        }
+    }
+}
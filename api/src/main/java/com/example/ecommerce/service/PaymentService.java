@@ -0,0 +1,185 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.config.ReadRouting;
+import com.example.ecommerce.dto.PaymentRequest;
+import com.example.ecommerce.dto.PaymentWebhookRequest;
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.metrics.CommerceMetrics;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.Payment;
+import com.example.ecommerce.model.PaymentDelivery;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentService {
+
+    private final PaymentRepository paymentRepository;
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final MongoTemplate mongoTemplate;
+    private final ReadRouting readRouting;
+    private final CommerceMetrics metrics;
+
+    public Payment createPayment(PaymentRequest request) {
+        log.debug("Creating payment for order: {}", request.getOrderId());
+
+        // Validate order exists and status is CREATED
+        Order order = orderRepository.findById(request.getOrderId())
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + request.getOrderId()));
+
+        if (!"CREATED".equals(order.getStatus())) {
+            throw new IllegalArgumentException("Order is not in CREATED status. Current status: " + order.getStatus());
+        }
+
+        // Check if payment already exists for this order
+        if (paymentRepository.findByOrderId(request.getOrderId()).isPresent()) {
+            throw new IllegalArgumentException("Payment already exists for this order");
+        }
+
+        // The payment service call is queued in the same document, so one insert writes both;
+        // PaymentOutboxDispatcher delivers it in the background
+        Instant now = Instant.now();
+        Payment payment = Payment.builder()
+                .orderId(request.getOrderId())
+                .amount(request.getAmount())
+                .status("PENDING")
+                .paymentId("pending") // Will be updated by payment service
+                .createdAt(now)
+                .delivery(PaymentDelivery.pending(now))
+                .build();
+        readRouting.userWrote(order.getUserId());
+        payment = paymentRepository.insert(payment);
+        log.debug("Payment created with id: {}", payment.getId());
+
+        orderService.updateOrderStatus(order.getId(), null, payment);
+        return payment;
+    }
+
+    /**
+     * Applies a batch of payment results with one bulk write to {@code payments}, then one to
+     * {@code orders} for the results that moved a payment. Updates are conditional on the
+     * current status, so statuses only move forward (PENDING, then FAILED, then SUCCESS):
+     * redelivered or out-of-order results are no-ops, and a late SUCCESS still wins over a
+     * FAILED recorded earlier.
+     *
+     * <p>Payment updates never insert: a result for an unknown order matches nothing, is
+     * logged, and leaves the order alone. When every line changed a payment, the bulk result
+     * alone says what happened. Otherwise the batch's payments are read back to tell unknown
+     * orders from stale results; if a concurrent writer moved the same payment in between,
+     * the transition may be attributed to the wrong line of the batch, but never to more
+     * lines than the bulk applied.
+     */
+    public void applyPaymentResults(List<PaymentWebhookRequest> results) {
+        BulkOperations payments = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Payment.class);
+        for (PaymentWebhookRequest result : results) {
+            payments.updateOne(replaceableBy(result), paymentUpdate(result, ""));
+        }
+        int modified = payments.execute().getModifiedCount();
+        log.debug("Applied {} payment results, {} payments changed", results.size(), modified);
+
+        List<PaymentWebhookRequest> applied = modified == results.size() ? results : appliedResults(results, modified);
+        if (applied.isEmpty()) {
+            return;
+        }
+        BulkOperations orders = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class);
+        for (PaymentWebhookRequest result : applied) {
+            boolean success = "SUCCESS".equals(result.getStatus());
+            // The payment just moved, so a FAILED order may only be replaced by its SUCCESS
+            List<String> replaceableOrderStatuses = success ? List.of("CREATED", "FAILED") : List.of("CREATED");
+            orders.updateOne(Query.query(Criteria.where("_id").is(result.getOrderId())
+                    .and("status").in(replaceableOrderStatuses)),
+                    Update.update("status", success ? "PAID" : "FAILED"));
+            // The summary may not be embedded yet; createPayment keeps what this writes
+            orders.updateOne(Query.query(Criteria.where("_id").is(result.getOrderId()).orOperator(
+                    Criteria.where("payment.status").in(replaceableStatuses(result)),
+                    Criteria.where("payment.status").exists(false))), paymentUpdate(result, "payment."));
+        }
+        orders.execute();
+
+        Instant now = Instant.now();
+        for (PaymentWebhookRequest result : applied) {
+            metrics.paymentCompleted("SUCCESS".equals(result.getStatus()),
+                    result.getRequestedAt() == null ? null : Duration.between(result.getRequestedAt(), now));
+        }
+    }
+
+    /**
+     * The payment a result may still move: the order's payment, while its status is one the
+     * result replaces.
+     */
+    public static Query replaceableBy(PaymentWebhookRequest result) {
+        return Query.query(Criteria.where("orderId").is(result.getOrderId())
+                .and("status").in(replaceableStatuses(result)));
+    }
+
+    /**
+     * Status and payment id of the payments of the given orders.
+     */
+    public static Query outcomesOf(Collection<String> orderIds) {
+        Query query = Query.query(Criteria.where("orderId").in(orderIds));
+        query.fields().include("orderId", "status", "paymentId");
+        return query;
+    }
+
+    // Lines whose outcome the payment now shows, at most as many as the bulk changed
+    private List<PaymentWebhookRequest> appliedResults(List<PaymentWebhookRequest> results, int modified) {
+        Set<String> orderIds = results.stream().map(PaymentWebhookRequest::getOrderId).collect(Collectors.toSet());
+        Map<String, Payment> current = mongoTemplate.find(outcomesOf(orderIds), Payment.class).stream()
+                .collect(Collectors.toMap(Payment::getOrderId, payment -> payment));
+
+        List<PaymentWebhookRequest> applied = new ArrayList<>();
+        Set<String> counted = new HashSet<>();
+        for (PaymentWebhookRequest result : results) {
+            Payment payment = current.get(result.getOrderId());
+            if (payment == null) {
+                log.warn("Ignoring payment result for unknown order {}", result.getOrderId());
+            } else if (applied.size() < modified
+                    && result.getStatus().equals(payment.getStatus())
+                    && (result.getPaymentId() == null || result.getPaymentId().equals(payment.getPaymentId()))
+                    && counted.add(result.getOrderId())) {
+                applied.add(result);
+            }
+        }
+        return applied;
+    }
+
+    @Scheduled(fixedDelayString = "${metrics.pending-payments.refresh-ms:15000}")
+    public void refreshPendingPayments() {
+        metrics.setPendingPayments(paymentRepository.countByStatus("PENDING"));
+    }
+
+    // Payment statuses the result may still replace
+    private static List<String> replaceableStatuses(PaymentWebhookRequest result) {
+        return "SUCCESS".equals(result.getStatus()) ? List.of("PENDING", "FAILED") : List.of("PENDING");
+    }
+
+    private static Update paymentUpdate(PaymentWebhookRequest result, String prefix) {
+        Update update = Update.update(prefix + "status", result.getStatus());
+        if (result.getPaymentId() != null) {
+            update.set(prefix + "paymentId", result.getPaymentId());
+        }
+        return update;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.ecommerce.service;
+
+import java.util.Map;
+
+/**
+ * Delivers a payment request to the external payment service.
+ * Implementations throw on any non-successful delivery.
+ */
+public interface PaymentServiceClient {
+
+    void createPayment(Map<String, Object> payload);
+}
@@ -0,0 +1,413 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.cache.CatalogRevision;
+import com.example.ecommerce.cache.ProductCache;
+import com.example.ecommerce.dto.ProductImportReport;
+import com.example.ecommerce.dto.ProductImportRow;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.search.ProductSearchIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AccumulatorOperators;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk product import from NDJSON or CSV. Lines are fed in one at a time, so a feed is
+ * never held in memory; valid rows are upserted in unordered bulk writes of
+ * {@code product.import.batch-size}.
+ *
+ * <p>Upserts only set the imported fields, so stock holds of checkouts in flight and any
+ * other fields survive a re-import. Imported stock is clamped to the units currently held:
+ * a feed that reports fewer units than carts hold leaves {@code stock} equal to
+ * {@code reserved}, so those holds can still check out and nothing new can be held. After
+ * each batch the written products are evicted from the product cache and re-indexed for
+ * search; the index skips products whose name and description did not change.
+ *
+ * <p>Every {@code PROGRESS_EVERY} rows a snapshot of the report is logged and passed to the
+ * caller's progress listener, if any.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final long PROGRESS_EVERY = 10_000;
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductCache productCache;
+    private final CatalogRevision catalogRevision;
+    private final ProductSearchIndex searchIndex;
+    private final ObjectMapper objectMapper;
+
+    @Value("${product.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${product.import.max-errors:1000}")
+    private int maxErrors;
+
+    /**
+     * Starts an import that is fed line by line, for callers that already split the body.
+     * {@code progress} receives incomplete reports as the import goes on; it may be null.
+     */
+    public ImportSession open(Format format, Consumer<ProductImportReport> progress) {
+        return new ImportSession(format, progress);
+    }
+
+    public ProductImportReport importFrom(InputStream body, Format format) throws IOException {
+        return importFrom(body, format, null);
+    }
+
+    public ProductImportReport importFrom(InputStream body, Format format, Consumer<ProductImportReport> progress)
+            throws IOException {
+        ImportSession session = open(format, progress);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            session.accept(line);
+        }
+        return session.finish();
+    }
+
+    /**
+     * One import in progress. Not thread-safe: lines must be fed in order from one thread at a time.
+     */
+    public final class ImportSession {
+
+        private final Format format;
+        private final Consumer<ProductImportReport> progress;
+        private final long start = System.currentTimeMillis();
+        private final List<PendingRow> batch = new ArrayList<>();
+        private final List<ProductImportReport.RowError> errors = new ArrayList<>();
+
+        private Map<String, Integer> csvColumns; // Lower-case header name -> position
+        private long lineNumber;
+        private long rows;
+        private long inserted;
+        private long updated;
+        private long rejected;
+        private long nextProgress = PROGRESS_EVERY;
+
+        private ImportSession(Format format, Consumer<ProductImportReport> progress) {
+            this.format = format;
+            this.progress = progress;
+        }
+
+        public void accept(String line) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                return;
+            }
+            if (format == Format.CSV && csvColumns == null) {
+                csvColumns = parseCsvHeader(line);
+                return;
+            }
+
+            rows++;
+            ProductImportRow row;
+            try {
+                row = format == Format.NDJSON
+                        ? objectMapper.readValue(line, ProductImportRow.class)
+                        : parseCsvRow(line, csvColumns);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                reject(lineNumber, "Malformed row: " + e.getMessage());
+                return;
+            }
+
+            if (isBlank(row.getId())) {
+                row.setId(null);
+            }
+            if (isBlank(row.getSku())) {
+                row.setSku(null);
+            }
+            String error = validate(row);
+            if (error != null) {
+                reject(lineNumber, error);
+                return;
+            }
+            batch.add(new PendingRow(lineNumber, row));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        public ProductImportReport finish() {
+            flush();
+            ProductImportReport report = report(true);
+            log.info("Product import finished: {} rows, {} inserted, {} updated, {} rejected in {} ms",
+                    rows, inserted, updated, rejected, report.getDurationMs());
+            return report;
+        }
+
+        private ProductImportReport report(boolean complete) {
+            return ProductImportReport.builder()
+                    .complete(complete)
+                    .rows(rows)
+                    .inserted(inserted)
+                    .updated(updated)
+                    .rejected(rejected)
+                    .errors(List.copyOf(errors))
+                    .durationMs(System.currentTimeMillis() - start)
+                    .build();
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            // A later row for the same product replaces an earlier one in the same batch
+            Map<String, PendingRow> byKey = new LinkedHashMap<>();
+            for (PendingRow pending : batch) {
+                byKey.put(pending.key(), pending);
+            }
+            List<PendingRow> writes = new ArrayList<>(byKey.values());
+            updated += batch.size() - writes.size();
+
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+            for (PendingRow pending : writes) {
+                ops.upsert(matchQuery(pending.row()), setUpdate(pending.row()));
+            }
+
+            BulkWriteResult result;
+            List<PendingRow> written = writes;
+            try {
+                result = ops.execute();
+            } catch (BulkOperationException e) {
+                // Unordered: every other row of the batch was still written
+                result = e.getResult();
+                Set<Integer> failed = new HashSet<>();
+                for (BulkWriteError error : e.getErrors()) {
+                    failed.add(error.getIndex());
+                    reject(writes.get(error.getIndex()).line(), error.getCode() == DUPLICATE_KEY
+                            ? "Duplicate sku: another product already uses it"
+                            : "Write failed: " + error.getMessage());
+                }
+                written = new ArrayList<>();
+                for (int i = 0; i < writes.size(); i++) {
+                    if (!failed.contains(i)) {
+                        written.add(writes.get(i));
+                    }
+                }
+            }
+            inserted += result.getUpserts().size();
+            updated += result.getMatchedCount();
+
+            if (!written.isEmpty()) {
+                refreshCacheAndIndex(written);
+            }
+            batch.clear();
+
+            if (rows >= nextProgress) {
+                log.info("Product import: {} rows read, {} inserted, {} updated, {} rejected",
+                        rows, inserted, updated, rejected);
+                if (progress != null) {
+                    progress.accept(report(false));
+                }
+                nextProgress = (rows / PROGRESS_EVERY + 1) * PROGRESS_EVERY;
+            }
+        }
+
+        private void reject(long line, String error) {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ProductImportReport.RowError(line, error));
+            }
+        }
+    }
+
+    // Reads back only what the search index needs; the cache entries are dropped rather than replaced
+    private void refreshCacheAndIndex(List<PendingRow> writes) {
+        List<String> ids = new ArrayList<>();
+        List<String> skus = new ArrayList<>();
+        for (PendingRow pending : writes) {
+            if (pending.row().getId() != null) {
+                ids.add(pending.row().getId());
+            } else {
+                skus.add(pending.row().getSku());
+            }
+        }
+
+        Query query = byIdsOrSkus(ids, skus);
+        query.fields().include("name", "description");
+
+        List<Product> products = mongoTemplate.find(query, Product.class);
+        long reindexed = products.stream().filter(searchIndex::index).count();
+        log.debug("Re-indexed {} of {} imported products", reindexed, products.size());
+        productCache.invalidateAll(products.stream().map(Product::getId).collect(Collectors.toList()));
+        catalogRevision.bump();
+    }
+
+    /**
+     * The product a row updates: by {@code id} if given, otherwise by {@code sku}.
+     */
+    public static Query matchQuery(ProductImportRow row) {
+        return row.getId() != null
+                ? Query.query(Criteria.where("_id").is(row.getId()))
+                : Query.query(Criteria.where("sku").is(row.getSku()));
+    }
+
+    /**
+     * The products written by a batch, matched by whichever keys its rows carried.
+     */
+    public static Query byIdsOrSkus(List<String> ids, List<String> skus) {
+        List<Criteria> keys = new ArrayList<>();
+        if (!ids.isEmpty()) {
+            keys.add(Criteria.where("_id").in(ids));
+        }
+        if (!skus.isEmpty()) {
+            keys.add(Criteria.where("sku").in(skus));
+        }
+        return Query.query(new Criteria().orOperator(keys));
+    }
+
+    // A pipeline, so stock can be clamped to the units held in the same write. Strings are
+    // literals, or a name starting with $ would be read as a field path
+    private static AggregationUpdate setUpdate(ProductImportRow row) {
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("name").toValue(LiteralOperators.Literal.asLiteral(row.getName()))
+                .set("price").toValue(row.getPrice())
+                .set("stock").toValue(AccumulatorOperators.Max.maxOf(ConditionalOperators.ifNull("reserved").then(0))
+                        .and(LiteralOperators.Literal.asLiteral(row.getStock())))
+                .set("version").toValue(ArithmeticOperators.valueOf(ConditionalOperators.ifNull("version").then(0))
+                        .add(1));
+        if (row.getSku() != null) {
+            update.set("sku").toValue(LiteralOperators.Literal.asLiteral(row.getSku()));
+        }
+        if (row.getDescription() != null) {
+            update.set("description").toValue(LiteralOperators.Literal.asLiteral(row.getDescription()));
+        }
+        return update;
+    }
+
+    private static String validate(ProductImportRow row) {
+        if (row.getId() == null && row.getSku() == null) {
+            return "Row needs an id or a sku";
+        }
+        if (isBlank(row.getName())) {
+            return "Name is required";
+        }
+        if (row.getPrice() == null || row.getPrice() < 0) {
+            return "Price must be zero or more";
+        }
+        if (row.getStock() == null || row.getStock() < 0) {
+            return "Stock must be zero or more";
+        }
+        return null;
+    }
+
+    private static Map<String, Integer> parseCsvHeader(String line) {
+        List<String> names = splitCsv(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("price") || !columns.containsKey("stock")
+                || (!columns.containsKey("id") && !columns.containsKey("sku"))) {
+            throw new IllegalArgumentException("CSV header must have name, price, stock and an id or sku column");
+        }
+        return columns;
+    }
+
+    private static ProductImportRow parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> fields = splitCsv(line);
+        String price = csvField(fields, columns, "price");
+        String stock = csvField(fields, columns, "stock");
+        return ProductImportRow.builder()
+                .id(csvField(fields, columns, "id"))
+                .sku(csvField(fields, columns, "sku"))
+                .name(csvField(fields, columns, "name"))
+                .description(csvField(fields, columns, "description"))
+                .price(price == null ? null : Double.valueOf(price))
+                .stock(stock == null ? null : Integer.valueOf(stock))
+                .build();
+    }
+
+    // Empty and missing cells are both null
+    private static String csvField(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer position = columns.get(name);
+        if (position == null || position >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(position).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 quoting within a single line; quoted fields cannot span lines
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record PendingRow(long line, ProductImportRow row) {
+
+        String key() {
+            return row.getId() != null ? "id:" + row.getId() : "sku:" + row.getSku();
+        }
+    }
+}
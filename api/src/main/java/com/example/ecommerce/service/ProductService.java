@@ -0,0 +1,284 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.cache.CatalogRevision;
+import com.example.ecommerce.cache.ProductCache;
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.PageCursor;
+import com.example.ecommerce.dto.ProductSummary;
+import com.example.ecommerce.exception.ResourceNotFoundException;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.search.ProductSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductService {
+
+    private final ProductRepository productRepository;
+    private final StockService stockService;
+    private final ProductCache productCache;
+    private final ProductSearchIndex searchIndex;
+    private final CatalogRevision catalogRevision;
+
+    public Product createProduct(Product product) {
+        log.debug("Creating product: {}", product.getName());
+        product.setVersion(null); // Always an insert, whatever the client sent
+        product.setReserved(null); // Units are only held through cart reservations
+        Product saved = productRepository.save(product);
+        catalogRevision.bump();
+        productCache.put(saved);
+        searchIndex.index(saved);
+        return saved;
+    }
+
+    /**
+     * Returns one page of products ordered by id. {@code cursor} is the
+     * {@code nextCursor} of the previous page, or null for the first page.
+     */
+    public CursorPage<Product> getAllProducts(String cursor, Integer size) {
+        int pageSize = PageCursor.clampSize(size);
+        log.debug("Fetching products page: size={}", pageSize);
+
+        // Fetch one extra row to know whether another page exists
+        String afterId = cursor == null ? null : PageCursor.decode(cursor, 1)[0];
+        List<Product> products = productRepository.findCatalogPage(afterId, pageSize + 1);
+
+        String nextCursor = null;
+        if (products.size() > pageSize) {
+            products = products.subList(0, pageSize);
+            nextCursor = PageCursor.encode(products.get(pageSize - 1).getId());
+        }
+        return CursorPage.<Product>builder()
+                .items(products)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    public Product getProductById(String id) {
+        Product cached = productCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        return getFreshProductById(id);
+    }
+
+    /**
+     * Reads the product from Mongo, bypassing the cache, and refreshes the cached copy.
+     * Use this wherever the current stock level matters.
+     */
+    public Product getFreshProductById(String id) {
+        log.debug("Fetching product with id: {}", id);
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        productCache.put(product);
+        return product;
+    }
+
+    /**
+     * Resolves several products, serving what it can from the cache and loading the
+     * rest with a single {@code _id $in} query. Throws if any requested id does not exist.
+     */
+    public Map<String, Product> getProductsByIds(Collection<String> ids) {
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        Map<String, Product> products = new HashMap<>(productCache.getAll(uniqueIds));
+        if (products.size() == uniqueIds.size()) {
+            return products;
+        }
+
+        Set<String> missing = new LinkedHashSet<>(uniqueIds);
+        missing.removeAll(products.keySet());
+        products.putAll(getFreshProductsByIds(missing));
+        return products;
+    }
+
+    /**
+     * Slim views of several products: cached products are copied, the rest are read with a
+     * projection of just {@code fields} and not cached. Throws if any id does not exist.
+     */
+    public Map<String, ProductSummary> getSummariesByIds(Collection<String> ids, Set<String> fields) {
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        Map<String, ProductSummary> summaries = new HashMap<>();
+        for (Product product : productCache.getAll(uniqueIds).values()) {
+            summaries.put(product.getId(), ProductSummary.from(product, fields));
+        }
+        if (summaries.size() == uniqueIds.size()) {
+            return summaries;
+        }
+
+        Set<String> missing = new LinkedHashSet<>(uniqueIds);
+        missing.removeAll(summaries.keySet());
+        for (ProductSummary summary : productRepository.findSummariesByIds(missing, fields)) {
+            summaries.put(summary.getId(), summary);
+        }
+        if (summaries.size() < uniqueIds.size()) {
+            uniqueIds.removeAll(summaries.keySet());
+            throw new ResourceNotFoundException("Products not found with ids: " + uniqueIds);
+        }
+        return summaries;
+    }
+
+    /**
+     * Same as {@link #getProductsByIds(Collection)} but always reads from Mongo,
+     * for stock-sensitive paths such as checkout.
+     */
+    public Map<String, Product> getFreshProductsByIds(Collection<String> ids) {
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        Map<String, Product> products = findFreshProductsByIds(uniqueIds);
+        if (products.size() < uniqueIds.size()) {
+            uniqueIds.removeAll(products.keySet());
+            throw new ResourceNotFoundException("Products not found with ids: " + uniqueIds);
+        }
+        return products;
+    }
+
+    /**
+     * Reads the products that exist among {@code ids} from Mongo; unknown ids are left out.
+     */
+    public Map<String, Product> findFreshProductsByIds(Collection<String> ids) {
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        log.debug("Fetching {} products by id", uniqueIds.size());
+
+        Map<String, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(uniqueIds)) {
+            products.put(product.getId(), product);
+        }
+        productCache.putAll(products.values());
+        return products;
+    }
+
+    public void updateStock(String productId, int quantity) {
+        log.debug("Updating stock for product {}: reducing by {}", productId, quantity);
+        decrementStock(Map.of(productId, quantity));
+    }
+
+    /**
+     * Decrements stock for all products, or for none if any line lacks stock: each line is
+     * a conditional update, and the lines that applied are undone if another is rejected.
+     */
+    public void decrementStock(Map<String, Integer> quantities) {
+        decrementStock(quantities, Map.of());
+    }
+
+    /**
+     * Same as {@link #decrementStock(Map)}, converting the caller's reservations in
+     * {@code released} into the decrement instead of taking those units from available stock.
+     */
+    public void decrementStock(Map<String, Integer> quantities, Map<String, Integer> released) {
+        log.debug("Decrementing stock for {} products", quantities.size());
+        try {
+            stockService.decrement(quantities, released);
+        } finally {
+            // Partial failures are compensated, which also touches stock
+            productCache.invalidateAll(quantities.keySet());
+            catalogRevision.bump();
+        }
+    }
+
+    /**
+     * Ranked search over product name and description, served from the in-memory index.
+     * Products missing from the cache are read with secondary-preferred routing and not
+     * cached, since they may be slightly stale.
+     */
+    public List<Product> searchProducts(String query, int page, Integer size) {
+        int pageSize = PageCursor.clampSize(size);
+        log.debug("Searching products with query: {}", query);
+
+        List<String> ids = searchIndex.search(query, PageCursor.offset(page, pageSize), pageSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Product> products = new HashMap<>(productCache.getAll(ids));
+        if (products.size() < ids.size()) {
+            Set<String> missing = new LinkedHashSet<>(ids);
+            missing.removeAll(products.keySet());
+            for (Product product : productRepository.findCatalogByIds(missing)) {
+                products.put(product.getId(), product);
+            }
+        }
+        // A product indexed moments ago may not have reached the secondary yet
+        return ids.stream().map(products::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    public void restoreStock(String productId, int quantity) {
+        log.debug("Restoring stock for product {}: adding back {}", productId, quantity);
+        restoreStock(Map.of(productId, quantity));
+    }
+
+    public void restoreStock(Map<String, Integer> quantities) {
+        log.debug("Restoring stock for {} products", quantities.size());
+        try {
+            stockService.increment(quantities);
+        } finally {
+            productCache.invalidateAll(quantities.keySet());
+            catalogRevision.bump();
+        }
+    }
+
+    /**
+     * Holds units for a cart if they are available. Only {@code reserved} changes, which the
+     * catalog does not show, so the catalog revision stays as it is.
+     *
+     * @return false if fewer than {@code quantity} units are available
+     */
+    public boolean reserveStock(String productId, int quantity) {
+        log.debug("Reserving {} units of product {}", quantity, productId);
+        try {
+            return stockService.reserve(productId, quantity);
+        } finally {
+            productCache.invalidate(productId);
+        }
+    }
+
+    public void releaseStock(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        log.debug("Releasing reserved stock for {} products", quantities.size());
+        try {
+            stockService.release(quantities);
+        } finally {
+            productCache.invalidateAll(quantities.keySet());
+        }
+    }
+
+    /**
+     * Reserved counts and their versions, of {@code productIds} and of every product with units held.
+     */
+    public List<Product> findReservedCounts(Collection<String> productIds) {
+        return stockService.findReserved(productIds);
+    }
+
+    /**
+     * Overwrites {@code reserved} on the products in {@code snapshot} whose {@code reserved} has
+     * not been written since it was read.
+     *
+     * @return how many products were changed
+     */
+    public int setReservedCounts(List<Product> snapshot, Map<String, Integer> reserved) {
+        if (snapshot.isEmpty()) {
+            return 0;
+        }
+        try {
+            return stockService.setReserved(snapshot, reserved);
+        } finally {
+            productCache.invalidateAll(reserved.keySet());
+        }
+    }
+
+    public Map<String, Object> getCacheStats() {
+        return productCache.stats();
+    }
+}
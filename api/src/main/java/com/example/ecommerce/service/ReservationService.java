@@ -0,0 +1,185 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.model.StockReservation;
+import com.example.ecommerce.repository.ReservationQueries;
+import com.example.ecommerce.repository.StockReservationRepository;
+import com.example.ecommerce.repository.StockReservationRepositoryCustom.ProductTotals;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Time-bounded stock holds for carts. The {@code stock_reservations} ledger is the
+ * record of what each user holds; the product's {@code reserved} counter, which is what
+ * availability checks read, is kept in step with it and recomputed from it by
+ * {@link #reconcile}.
+ *
+ * <p>Writes are ordered so the counter never runs ahead of the ledger: a hold writes the
+ * ledger first, and a removal stamps the holds with a claim token, applies their units
+ * to the counter and only then deletes them by token. A crash in between leaves units
+ * that the ledger still shows as held, which reconcile then counts. Whoever claims a
+ * hold, checkout or the expiry sweeper, is responsible for its units, so they are
+ * released once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationService {
+
+    private final StockReservationRepository reservationRepository;
+    private final ProductService productService;
+
+    @Value("${reservation.ttl:15m}")
+    private Duration ttl;
+
+    // A claim this old belongs to a checkout or sweep that died; reconcile discards it
+    @Value("${reservation.claim-timeout:5m}")
+    private Duration claimTimeout;
+
+    /**
+     * Holds claimed for removal, identified by their claim token, with the held quantity per product.
+     */
+    public record Claim(String token, Map<String, Integer> quantities) {
+
+        public static Claim of(String token, List<StockReservation> reservations) {
+            Map<String, Integer> quantities = new LinkedHashMap<>();
+            for (StockReservation reservation : reservations) {
+                if (reservation.getQuantity() > 0) {
+                    quantities.merge(reservation.getProductId(), reservation.getQuantity(), Integer::sum);
+                }
+            }
+            return new Claim(token, quantities);
+        }
+    }
+
+    /**
+     * Holds {@code quantity} more units of the product for the user, and extends the
+     * expiry of everything the user holds on it.
+     *
+     * @return false if fewer units are available; nothing is held then
+     */
+    public boolean hold(String userId, String productId, int quantity) {
+        // Ledger first: a crash before the counter write leaves a hold that reconcile counts
+        reservationRepository.hold(userId, productId, quantity, Instant.now().plus(ttl));
+        boolean reserved;
+        try {
+            reserved = productService.reserveStock(productId, quantity);
+        } catch (RuntimeException e) {
+            reservationRepository.unhold(userId, productId, quantity);
+            throw e;
+        }
+        if (!reserved) {
+            reservationRepository.unhold(userId, productId, quantity);
+        }
+        return reserved;
+    }
+
+    /**
+     * Gives back units taken by {@link #hold} that ended up unused.
+     */
+    public void unhold(String userId, String productId, int quantity) {
+        productService.releaseStock(Map.of(productId, quantity));
+        reservationRepository.unhold(userId, productId, quantity);
+    }
+
+    /**
+     * Claims the user's holds on {@code productIds}, expired or not. The units stay counted
+     * as reserved: the caller converts them with {@link ProductService#decrementStock(Map, Map)}
+     * and then calls {@link #complete}, or hands them back with {@link #restore}.
+     */
+    public Claim claim(String userId, Collection<String> productIds) {
+        String token = newToken();
+        return Claim.of(token, reservationRepository.claim(
+                ReservationQueries.unclaimed(userId, productIds), token, Instant.now()));
+    }
+
+    /**
+     * Deletes claimed holds once their units have been applied to the counters.
+     */
+    public void complete(Claim claim) {
+        reservationRepository.removeClaimed(claim.token());
+    }
+
+    /**
+     * Puts claimed holds back in the ledger with a fresh expiry.
+     */
+    public void restore(Claim claim) {
+        reservationRepository.unclaim(claim.token(), Instant.now().plus(ttl));
+    }
+
+    public void releaseAll(String userId) {
+        String token = newToken();
+        Claim claim = Claim.of(token, reservationRepository.claim(
+                ReservationQueries.unclaimed(userId), token, Instant.now()));
+        productService.releaseStock(claim.quantities());
+        complete(claim);
+    }
+
+    /**
+     * Releases up to {@code batchSize} expired holds: one update claims the batch, one product
+     * write releases its units and one delete removes it.
+     *
+     * @return how many expired holds were claimed; fewer than {@code batchSize} means none are left
+     */
+    public int releaseExpired(int batchSize) {
+        String token = newToken();
+        List<StockReservation> expired = reservationRepository.claimExpired(Instant.now(), batchSize, token);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        Claim claim = Claim.of(token, expired);
+        productService.releaseStock(claim.quantities());
+        complete(claim);
+        return expired.size();
+    }
+
+    /**
+     * Recomputes every product's {@code reserved} count from the unclaimed holds in the ledger.
+     * Products are read before the ledger and written only if their {@code reservedVersion}
+     * has not moved since, so a hold or release racing the pass makes it skip that product
+     * rather than undercount it. Products with a removal in progress are left for the next pass.
+     *
+     * @return how many products had a wrong count
+     */
+    public int reconcile() {
+        long stale = reservationRepository.removeClaimsBefore(Instant.now().minus(claimTimeout));
+        if (stale > 0) {
+            log.warn("Discarded {} stock reservation claims older than {}", stale, claimTimeout);
+        }
+
+        List<Product> snapshot = productService.findReservedCounts(reservationRepository.findHeldProductIds());
+        Map<String, ProductTotals> totals = reservationRepository.totalsByProduct();
+
+        List<Product> wrong = new ArrayList<>();
+        Map<String, Integer> reserved = new HashMap<>();
+        for (Product product : snapshot) {
+            ProductTotals total = totals.getOrDefault(product.getId(), new ProductTotals(0, 0));
+            int current = product.getReserved() == null ? 0 : product.getReserved();
+            if (total.claimed() == 0 && total.active() != current) {
+                wrong.add(product);
+                reserved.put(product.getId(), total.active());
+            }
+        }
+        int corrected = productService.setReservedCounts(wrong, reserved);
+        if (!wrong.isEmpty()) {
+            log.warn("Reserved counts of {} products disagreed with the ledger, {} corrected", wrong.size(), corrected);
+        }
+        return wrong.size();
+    }
+
+    static String newToken() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.ecommerce.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Releases expired stock holds in batches, and now and then recomputes the products'
+ * reserved counts from the ledger. Runs in both web modes; several instances may sweep
+ * at once, since each hold is claimed by exactly one of them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationSweeper {
+
+    private final ReservationService reservationService;
+
+    @Value("${reservation.sweep.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${reservation.sweep.interval-ms:30000}")
+    public void sweep() {
+        int total = 0;
+        int found;
+        do {
+            found = reservationService.releaseExpired(batchSize);
+            total += found;
+        } while (found == batchSize);
+
+        if (total > 0) {
+            log.info("Released {} expired stock reservations", total);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.reconcile.interval-ms:600000}",
+            initialDelayString = "${reservation.reconcile.interval-ms:600000}")
+    public void reconcile() {
+        reservationService.reconcile();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.ecommerce.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Slf4j
+public class RestPaymentServiceClient implements PaymentServiceClient {
+
+    private final RestTemplate restTemplate;
+
+    @Value("${payment.service.url}")
+    private String paymentServiceUrl;
+
+    @Override
+    public void createPayment(Map<String, Object> payload) {
+        restTemplate.postForObject(paymentServiceUrl + "/payments/create", payload, String.class);
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.exception.InsufficientStockException;
+import com.example.ecommerce.model.Product;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies stock changes as atomic {@code $inc} updates, so concurrent checkouts can never
+ * drive stock negative. Each decrement line is a conditional update of its own, so a
+ * rejected checkout compensates exactly the lines that applied; restores and releases
+ * are batched into unordered bulk writes. Every decrement and reservation is conditional
+ * on available stock, physical stock minus {@code reserved}, so nobody can take units
+ * held for another user's cart.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockService {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Matches the product only if at least {@code quantity} units are available.
+     */
+    public static Query availableAtLeast(String productId, int quantity) {
+        AggregationExpression available = ArithmeticOperators.valueOf("stock")
+                .subtract(ConditionalOperators.ifNull("reserved").then(0));
+        return Query.query(Criteria.where("_id").is(productId)
+                .andOperator(Criteria.expr(ComparisonOperators.valueOf(available).greaterThanEqualToValue(quantity))));
+    }
+
+    /**
+     * Decrements stock for every product in {@code quantities}, or for none of them.
+     *
+     * @throws InsufficientStockException listing the products that did not have enough stock
+     */
+    public void decrement(Map<String, Integer> quantities) {
+        decrement(quantities, Map.of());
+    }
+
+    /**
+     * Same as {@link #decrement(Map)}, converting reservations: {@code released} are units
+     * the caller held for these products, which are taken out of {@code reserved} and
+     * need not be available.
+     */
+    public void decrement(Map<String, Integer> quantities, Map<String, Integer> released) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        // One conditional update per product: a bulk write only reports how many lines matched,
+        // not which, and only the lines that applied may be compensated
+        Set<String> applied = new LinkedHashSet<>();
+        Set<String> rejected = new LinkedHashSet<>();
+        try {
+            quantities.forEach((productId, quantity) -> {
+                int held = released.getOrDefault(productId, 0);
+                UpdateResult result = mongoTemplate.updateFirst(availableAtLeast(productId, quantity - held),
+                        decrementUpdate(quantity, held), Product.class);
+                (result.getMatchedCount() > 0 ? applied : rejected).add(productId);
+            });
+        } catch (RuntimeException e) {
+            log.error("Stock decrement failed after {} applied lines, compensating them", applied.size());
+            compensate(applied, quantities, released);
+            throw e;
+        }
+        if (rejected.isEmpty()) {
+            return;
+        }
+
+        // Some lines did not match their stock condition or their product is gone: roll back the ones that did
+        compensate(applied, quantities, released);
+        log.warn("Stock decrement rejected for products {}, compensated {} applied lines",
+                rejected, applied.size());
+        throw new InsufficientStockException("Insufficient stock for products: " + rejected, rejected);
+    }
+
+    /**
+     * Adds {@code quantities} back to stock in a single unordered bulk write.
+     */
+    public void increment(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        quantities.forEach((productId, quantity) -> ops.updateOne(
+                Query.query(Criteria.where("_id").is(productId)),
+                new Update().inc("stock", quantity).inc("version", 1)));
+        BulkWriteResult result = ops.execute();
+
+        if (result.getMatchedCount() < quantities.size()) {
+            log.warn("Stock restore matched {} of {} products", result.getMatchedCount(), quantities.size());
+        }
+    }
+
+    /**
+     * Holds {@code quantity} units of the product for a cart.
+     *
+     * @return false if fewer units are available
+     */
+    public boolean reserve(String productId, int quantity) {
+        return mongoTemplate.updateFirst(availableAtLeast(productId, quantity),
+                reservedUpdate(quantity), Product.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Gives held units back to available stock in a single unordered bulk write.
+     */
+    public void release(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        quantities.forEach((productId, quantity) -> ops.updateOne(
+                Query.query(Criteria.where("_id").is(productId)),
+                reservedUpdate(-quantity)));
+        ops.execute();
+    }
+
+    /**
+     * Reserved counts and their versions, of {@code productIds} and of every product with units reserved.
+     */
+    public List<Product> findReserved(Collection<String> productIds) {
+        return mongoTemplate.find(reservedSnapshot(productIds), Product.class);
+    }
+
+    /**
+     * Sets each product's {@code reserved} count, skipping products written since
+     * {@code snapshot} was read.
+     *
+     * @return how many products were changed
+     */
+    public int setReserved(List<Product> snapshot, Map<String, Integer> reserved) {
+        if (snapshot.isEmpty()) {
+            return 0;
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        snapshot.forEach(product -> ops.updateOne(
+                Query.query(Criteria.where("_id").is(product.getId())
+                        .and("reservedVersion").is(product.getReservedVersion())),
+                new Update().set("reserved", reserved.get(product.getId())).inc("reservedVersion", 1)));
+        return ops.execute().getModifiedCount();
+    }
+
+    public static Query reservedSnapshot(Collection<String> productIds) {
+        Query query = Query.query(new Criteria().orOperator(
+                Criteria.where("_id").in(productIds), Criteria.where("reserved").gt(0)));
+        query.fields().include("reserved", "reservedVersion");
+        return query;
+    }
+
+    public static Update decrementUpdate(int quantity, int held) {
+        return new Update().inc("stock", -quantity).inc("version", 1)
+                .inc("reserved", -held).inc("reservedVersion", 1);
+    }
+
+    public static Update compensationUpdate(int quantity, int held) {
+        return new Update().inc("stock", quantity).inc("version", 1)
+                .inc("reserved", held).inc("reservedVersion", 1);
+    }
+
+    // Reservations change no field the API shows, so they leave version, and the product's ETag, alone
+    public static Update reservedUpdate(int delta) {
+        return new Update().inc("reserved", delta).inc("reservedVersion", 1);
+    }
+
+    private void compensate(Set<String> applied, Map<String, Integer> quantities, Map<String, Integer> released) {
+        if (applied.isEmpty()) {
+            return;
+        }
+        BulkOperations compensation = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        applied.forEach(productId -> compensation.updateOne(
+                Query.query(Criteria.where("_id").is(productId)),
+                compensationUpdate(quantities.get(productId), released.getOrDefault(productId, 0))));
+        compensation.execute();
+    }
+}
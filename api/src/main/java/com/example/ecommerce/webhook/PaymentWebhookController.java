@@ -0,0 +1,40 @@
+package com.example.ecommerce.webhook;
+
+import com.example.ecommerce.dto.PaymentWebhookRequest;
+import com.example.ecommerce.metrics.CommerceMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/webhooks")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentWebhookController {
+
+    private final PaymentWebhookIngester webhookIngester;
+    private final CommerceMetrics metrics;
+
+    @PostMapping("/payment")
+    public ResponseEntity<Map<String, String>> handlePaymentWebhook(@RequestBody PaymentWebhookRequest request) {
+        log.debug("POST /api/webhooks/payment - order={}, status={}, paymentId={}",
+                request.getOrderId(), request.getStatus(), request.getPaymentId());
+
+        PaymentWebhookIngester.Result result = webhookIngester.submit(request);
+        metrics.webhookReceived(result);
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", result.getMessage());
+        HttpStatus status = result == PaymentWebhookIngester.Result.REJECTED
+                ? HttpStatus.SERVICE_UNAVAILABLE
+                : HttpStatus.ACCEPTED;
+        return new ResponseEntity<>(response, status);
+    }
+}
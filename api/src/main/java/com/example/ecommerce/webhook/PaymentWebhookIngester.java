@@ -0,0 +1,187 @@
+package com.example.ecommerce.webhook;
+
+import com.example.ecommerce.dto.PaymentWebhookRequest;
+import com.example.ecommerce.service.PaymentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Accepts payment webhooks onto a bounded queue and applies them in micro-batches
+ * through {@link PaymentService#applyPaymentResults(List)}.
+ *
+ * <p>Redeliveries of a result already seen within the last {@code dedupe-window}
+ * callbacks are dropped before they reach the queue. The window is only an
+ * optimisation: the batch writes are conditional on the current status, so anything
+ * that slips past it is still applied idempotently. Callbacks queued but not yet
+ * written are lost if the process dies, so shutdown drains the queue first.
+ */
+@Component
+@Slf4j
+public class PaymentWebhookIngester implements InitializingBean, DisposableBean {
+
+    public enum Result {
+        ACCEPTED("Webhook accepted"),
+        DUPLICATE("Duplicate webhook ignored"),
+        REJECTED("Webhook queue is full, retry later");
+
+        private final String message;
+
+        Result(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private static final int MAX_APPLY_ATTEMPTS = 3;
+
+    private final PaymentService paymentService;
+    private final BlockingQueue<PaymentWebhookRequest> queue;
+    private final int batchSize;
+    private final Duration linger;
+
+    private final ReentrantLock recentLock = new ReentrantLock();
+    private final Map<String, Boolean> recent;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public PaymentWebhookIngester(PaymentService paymentService,
+                                  @Value("${webhook.ingest.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${webhook.ingest.batch-size:200}") int batchSize,
+                                  @Value("${webhook.ingest.linger:20ms}") Duration linger,
+                                  @Value("${webhook.ingest.dedupe-window:100000}") int dedupeWindow) {
+        this.paymentService = paymentService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.recent = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > dedupeWindow;
+            }
+        };
+    }
+
+    /**
+     * @throws IllegalArgumentException if the callback is malformed
+     */
+    public Result submit(PaymentWebhookRequest request) {
+        if (request.getOrderId() == null || request.getOrderId().isBlank()) {
+            throw new IllegalArgumentException("Order ID is required");
+        }
+        if (!"SUCCESS".equals(request.getStatus()) && !"FAILED".equals(request.getStatus())) {
+            throw new IllegalArgumentException("Status must be SUCCESS or FAILED");
+        }
+
+        String key = dedupeKey(request);
+        recentLock.lock();
+        try {
+            if (recent.putIfAbsent(key, Boolean.TRUE) != null) {
+                return Result.DUPLICATE;
+            }
+        } finally {
+            recentLock.unlock();
+        }
+
+        if (!running || !queue.offer(request)) {
+            // Let the provider redeliver later
+            forget(List.of(request));
+            return Result.REJECTED;
+        }
+        return Result.ACCEPTED;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        worker = new Thread(this::run, "payment-webhook-ingester");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void run() {
+        List<PaymentWebhookRequest> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PaymentWebhookRequest first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Give concurrent callbacks a moment to join this batch
+                long deadline = System.nanoTime() + linger.toNanos();
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PaymentWebhookRequest next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void apply(List<PaymentWebhookRequest> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= MAX_APPLY_ATTEMPTS; attempt++) {
+            try {
+                paymentService.applyPaymentResults(batch);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Applying {} payment webhooks failed (attempt {}): {}", batch.size(), attempt, e.getMessage());
+                Thread.sleep(100L << attempt);
+            }
+        }
+        log.error("Dropping {} payment webhooks after {} attempts; redeliveries will be accepted",
+                batch.size(), MAX_APPLY_ATTEMPTS);
+        forget(batch);
+    }
+
+    private void forget(List<PaymentWebhookRequest> requests) {
+        recentLock.lock();
+        try {
+            for (PaymentWebhookRequest request : requests) {
+                recent.remove(dedupeKey(request));
+            }
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    // A payment can legitimately report FAILED and later SUCCESS, so the status is part of the key
+    private static String dedupeKey(PaymentWebhookRequest request) {
+        return request.getOrderId() + "|" + request.getPaymentId() + "|" + request.getStatus();
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.ecommerce;
+
+import com.example.ecommerce.dto.AddToCartRequest;
+import com.example.ecommerce.dto.CreateOrderRequest;
+import com.example.ecommerce.model.Product;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same requests against the Spring MVC application and the {@code reactive} profile
+ * and compares status codes and bodies. Each application gets its own database, so both
+ * start from the same empty state. Generated ids are compared by where they first appeared,
+ * and timestamps and cursors only by whether they are present.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ApiParityTest {
+
+    private static final Set<String> ID_FIELDS = Set.of("id", "orderId", "productId", "paymentId");
+
+    private static final Set<String> TIME_FIELDS = Set.of("createdAt", "updatedAt", "timestamp");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static ConfigurableApplicationContext servlet;
+    private static ConfigurableApplicationContext reactive;
+
+    @BeforeAll
+    static void startApplications() {
+        servlet = start("servlet");
+        reactive = start("reactive", "reactive");
+    }
+
+    @AfterAll
+    static void stopApplications() {
+        if (servlet != null) {
+            servlet.close();
+        }
+        if (reactive != null) {
+            reactive.close();
+        }
+    }
+
+    @Test
+    void reactiveProfileServesTheSameResponses() {
+        List<Exchange> expected = new Scenario(client(servlet)).run();
+        List<Exchange> actual = new Scenario(client(reactive)).run();
+
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i)).as(expected.get(i).step()).isEqualTo(expected.get(i));
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String database, String... profiles) {
+        return new SpringApplicationBuilder(EcommerceApplication.class)
+                .profiles(profiles)
+                .properties(
+                        "server.port=0",
+                        "spring.data.mongodb.uri=" + TestMongo.started().getReplicaSetUrl(database),
+                        "mongodb.query-plans.check-on-startup=false")
+                .run();
+    }
+
+    private static WebTestClient client(ConfigurableApplicationContext context) {
+        return WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + context.getEnvironment().getProperty("local.server.port"))
+                .build();
+    }
+
+    /**
+     * One request and its response, with generated values replaced as described on the class.
+     */
+    record Exchange(String step, int status, JsonNode body) {
+    }
+
+    /**
+     * Product, cart and order requests, including the error cases, in a fixed order. Later
+     * requests use the ids returned by earlier ones.
+     */
+    private static class Scenario {
+
+        private final WebTestClient client;
+        private final List<Exchange> exchanges = new ArrayList<>();
+        private final Map<String, String> ids = new HashMap<>();
+
+        Scenario(WebTestClient client) {
+            this.client = client;
+        }
+
+        List<Exchange> run() {
+            JsonNode product = send("create product", HttpMethod.POST, "/api/products",
+                    Product.builder().name("Parity Mug").description("Stoneware").price(12.5).stock(10).build());
+            String productId = product.get("id").asText();
+
+            send("get product", HttpMethod.GET, "/api/products/" + productId, null);
+            send("get missing product", HttpMethod.GET, "/api/products/missing", null);
+            send("list products", HttpMethod.GET, "/api/products?size=10", null);
+
+            send("add to cart", HttpMethod.POST, "/api/cart/add", new AddToCartRequest("parity", productId, 2));
+            send("add to cart without quantity", HttpMethod.POST, "/api/cart/add",
+                    new AddToCartRequest("parity", productId, 0));
+            send("add more than in stock", HttpMethod.POST, "/api/cart/add",
+                    new AddToCartRequest("parity", productId, 100));
+            send("add unknown product", HttpMethod.POST, "/api/cart/add",
+                    new AddToCartRequest("parity", "missing", 1));
+            send("get cart", HttpMethod.GET, "/api/cart/parity", null);
+            send("get product with held units", HttpMethod.GET, "/api/products/" + productId, null);
+
+            JsonNode order = send("create order", HttpMethod.POST, "/api/orders", new CreateOrderRequest("parity"));
+            String orderId = order.get("id").asText();
+
+            send("create order from empty cart", HttpMethod.POST, "/api/orders", new CreateOrderRequest("parity"));
+            send("get order", HttpMethod.GET, "/api/orders/" + orderId, null);
+            send("get missing order", HttpMethod.GET, "/api/orders/missing", null);
+            send("get order history", HttpMethod.GET, "/api/orders/user/parity", null);
+            send("cancel order", HttpMethod.POST, "/api/orders/" + orderId + "/cancel", null);
+            send("cancel order again", HttpMethod.POST, "/api/orders/" + orderId + "/cancel", null);
+            send("get product after cancel", HttpMethod.GET, "/api/products/" + productId, null);
+
+            send("add to cart again", HttpMethod.POST, "/api/cart/add", new AddToCartRequest("parity", productId, 1));
+            send("clear cart", HttpMethod.DELETE, "/api/cart/parity/clear", null);
+            send("get cleared cart", HttpMethod.GET, "/api/cart/parity", null);
+            return exchanges;
+        }
+
+        // Records the normalized exchange and returns the body as sent, for ids needed later
+        private JsonNode send(String step, HttpMethod method, String uri, Object body) {
+            WebTestClient.RequestBodySpec request = client.method(method).uri(uri);
+            EntityExchangeResult<byte[]> result = (body != null ? request.bodyValue(body) : request)
+                    .exchange()
+                    .expectBody()
+                    .returnResult();
+
+            JsonNode raw = parse(result.getResponseBody());
+            exchanges.add(new Exchange(step, result.getStatus().value(), normalize(raw.deepCopy())));
+            return raw;
+        }
+
+        private JsonNode normalize(JsonNode node) {
+            if (node instanceof ObjectNode object) {
+                Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    JsonNode value = field.getValue();
+                    if (value.isNull()) {
+                        continue;
+                    }
+                    if (ID_FIELDS.contains(field.getKey()) && value.isTextual()) {
+                        field.setValue(TextNode.valueOf(
+                                ids.computeIfAbsent(value.asText(), id -> "<id-" + (ids.size() + 1) + ">")));
+                    } else if (TIME_FIELDS.contains(field.getKey()) || field.getKey().equals("nextCursor")) {
+                        field.setValue(TextNode.valueOf("<" + field.getKey() + ">"));
+                    } else {
+                        normalize(value);
+                    }
+                }
+            } else if (node.isArray()) {
+                node.forEach(this::normalize);
+            }
+            return node;
+        }
+
+        private static JsonNode parse(byte[] body) {
+            if (body == null || body.length == 0) {
+                return NullNode.getInstance();
+            }
+            try {
+                return objectMapper.readTree(new String(body, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
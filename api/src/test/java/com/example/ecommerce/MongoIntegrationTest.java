@@ -0,0 +1,57 @@
+package com.example.ecommerce;
+
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+
+/**
+ * Base for tests that run the application against {@link TestMongo}. Subclasses share one
+ * container and, unless they change the configuration, one application context; each test
+ * clears the collections it uses. Skipped, rather than failed, where Docker is unavailable.
+ */
+@SpringBootTest(properties = "mongodb.query-plans.check-on-startup=false")
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class MongoIntegrationTest {
+
+    @ServiceConnection
+    static final MongoDBContainer mongo = TestMongo.started();
+
+    @Autowired
+    protected MongoTemplate mongoTemplate;
+
+    protected void clear(Class<?>... documents) {
+        for (Class<?> document : documents) {
+            mongoTemplate.remove(new Query(), document);
+        }
+    }
+
+    protected String insertProduct(String name, int stock, int reserved) {
+        return mongoTemplate.insert(Product.builder()
+                .name(name)
+                .price(10.0)
+                .stock(stock)
+                .reserved(reserved)
+                .build()).getId();
+    }
+
+    protected Product product(String productId) {
+        return mongoTemplate.findById(productId, Product.class);
+    }
+
+    protected Order insertOrder(double totalAmount) {
+        return mongoTemplate.insert(Order.builder()
+                .userId("user")
+                .totalAmount(totalAmount)
+                .status("CREATED")
+                .createdAt(Instant.now())
+                .build());
+    }
+}
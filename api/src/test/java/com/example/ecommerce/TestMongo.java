@@ -0,0 +1,23 @@
+package com.example.ecommerce;
+
+import org.testcontainers.containers.MongoDBContainer;
+
+/**
+ * The MongoDB container shared by every integration test in the run. It is started on first
+ * use and removed by Testcontainers when the JVM exits, so test classes do not each pay for
+ * a container start. It runs as a single-node replica set.
+ */
+public final class TestMongo {
+
+    private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    private TestMongo() {
+    }
+
+    public static synchronized MongoDBContainer started() {
+        if (!MONGO.isRunning()) {
+            MONGO.start();
+        }
+        return MONGO;
+    }
+}
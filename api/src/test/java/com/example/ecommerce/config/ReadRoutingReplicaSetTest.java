@@ -0,0 +1,106 @@
+package com.example.ecommerce.config;
+
+import com.example.ecommerce.MongoIntegrationTest;
+import com.example.ecommerce.dto.BulkOrderEntry;
+import com.example.ecommerce.dto.BulkOrderRequest;
+import com.example.ecommerce.dto.OrderLineRequest;
+import com.example.ecommerce.model.Product;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Order history against a replica set: a user's history goes to the primary right after
+ * that user's own write, and to {@code secondaryPreferred} otherwise. The read preference
+ * is checked on the commands the driver sends. {@code TestMongo} runs as a single-node
+ * replica set, so the driver sends {@code $readPreference} with routed reads.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "mongodb.query-plans.check-on-startup=false")
+class ReadRoutingReplicaSetTest extends MongoIntegrationTest {
+
+    // find commands on orders, as sent by the driver
+    private static final List<BsonDocument> orderFinds = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private WebTestClient client;
+
+    private String productId;
+
+    @BeforeEach
+    void createProduct() {
+        productId = client.post().uri("/api/products")
+                .bodyValue(Product.builder().name("Replica Mug").price(10.0).stock(100).build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Product.class).returnResult().getResponseBody()
+                .getId();
+        orderFinds.clear();
+    }
+
+    @Test
+    void historyAfterOwnWriteIsReadFromPrimary() {
+        client.post().uri("/api/orders/bulk")
+                .bodyValue(new BulkOrderRequest(List.of(new BulkOrderEntry("ref-1", "writer",
+                        List.of(new OrderLineRequest(productId, 1))))))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.created").isEqualTo(1);
+
+        client.get().uri("/api/orders/user/writer")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.items.length()").isEqualTo(1);
+
+        assertThat(orderFinds).isNotEmpty();
+        assertThat(orderFinds).allSatisfy(find -> assertThat(readMode(find)).isEqualTo("primary"));
+    }
+
+    @Test
+    void historyOfOtherUsersIsReadFromSecondaries() {
+        client.get().uri("/api/orders/user/reader")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(orderFinds).isNotEmpty();
+        assertThat(orderFinds).allSatisfy(find -> assertThat(readMode(find)).isEqualTo("secondaryPreferred"));
+    }
+
+    // Primary reads carry no $readPreference at all
+    private static String readMode(BsonDocument find) {
+        BsonDocument readPreference = find.getDocument("$readPreference", new BsonDocument());
+        return readPreference.containsKey("mode") ? readPreference.getString("mode").getValue() : "primary";
+    }
+
+    @TestConfiguration
+    static class CommandCapture {
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer captureOrderFinds() {
+            CommandListener listener = new CommandListener() {
+                @Override
+                public void commandStarted(CommandStartedEvent event) {
+                    BsonDocument command = event.getCommand();
+                    if ("find".equals(event.getCommandName())
+                            && "orders".equals(command.getString("find").getValue())) {
+                        orderFinds.add(command.clone());
+                    }
+                }
+            };
+            return settings -> settings.addCommandListener(listener);
+        }
+    }
+}
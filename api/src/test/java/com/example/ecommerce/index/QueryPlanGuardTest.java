@@ -0,0 +1,32 @@
+package com.example.ecommerce.index;
+
+import com.example.ecommerce.MongoIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Explains every registered query shape against the indexes {@code IndexVerifier} creates
+ * at startup. A shape that scans the collection or sorts in memory fails with its plan.
+ */
+class QueryPlanGuardTest extends MongoIntegrationTest {
+
+    @Autowired
+    private QueryPlanGuard queryPlanGuard;
+
+    @Test
+    void everyShapeUsesAnIndex() {
+        List<QueryPlan> plans = queryPlanGuard.check();
+
+        assertThat(plans).extracting(QueryPlan::getQuery).containsExactlyElementsOf(QueryPlanGuard.shapeNames());
+        assertThat(plans).allSatisfy(plan -> {
+            assertThat(plan.isCollectionScan()).as("%s scans the collection: %s", plan.getQuery(), plan.getPlan())
+                    .isFalse();
+            assertThat(plan.isBlockingSort()).as("%s sorts in memory: %s", plan.getQuery(), plan.getPlan())
+                    .isFalse();
+        });
+    }
+}
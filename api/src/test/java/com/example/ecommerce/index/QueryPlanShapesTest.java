@@ -0,0 +1,107 @@
+package com.example.ecommerce.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.repository.Repository;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every method declared on a repository, or on its custom fragment, must issue only query
+ * shapes that {@link QueryPlanGuard} explains. A derived query is covered by a shape named
+ * after it; other methods are listed below with the shapes they issue.
+ */
+class QueryPlanShapesTest {
+
+    private static final String BASE_PACKAGE = "com.example.ecommerce";
+
+    private static final Map<String, List<String>> ISSUED_SHAPES = Map.ofEntries(
+            entry("StockReservationRepository.findByUserId", List.of("ReservationQueries.byUser")),
+            entry("ReactiveOrderItemRepository.findByOrderId", List.of("OrderItemRepository.findByOrderId")),
+            entry("ReactiveOrderItemRepository.deleteByOrderIdIn", List.of("OrderItemRepository.deleteByOrderIdIn")),
+            entry("ReactivePaymentRepository.findByOrderId", List.of("PaymentRepository.findByOrderId")),
+            entry("CartRepositoryCustom.addToLine", List.of("CartQueries.byUser")),
+            entry("OrderRepositoryCustom.findUserOrdersBefore", List.of("OrderQueries.userOrdersBefore")),
+            entry("OrderRepositoryCustom.updateStatusAndPayment", List.of("OrderQueries.byId")),
+            entry("OrderRepositoryCustom.updateStatusIf", List.of("OrderQueries.byIdWithStatus")),
+            entry("ProductRepositoryCustom.findCatalogPage", List.of("ProductQueries.pageAfter")),
+            entry("ProductRepositoryCustom.findCatalogByIds", List.of("ProductQueries.byIds")),
+            entry("ProductRepositoryCustom.findSummariesByIds", List.of("ProductQueries.byIds")),
+            entry("StockReservationRepositoryCustom.hold", List.of("ReservationQueries.byUserAndProduct")),
+            entry("StockReservationRepositoryCustom.unhold", List.of("ReservationQueries.byUserAndProduct")),
+            entry("StockReservationRepositoryCustom.claim",
+                    List.of("ReservationQueries.unclaimed", "ReservationQueries.unclaimed(user)",
+                            "ReservationQueries.claimedBy")),
+            entry("StockReservationRepositoryCustom.claimExpired",
+                    List.of("ReservationQueries.expired", "ReservationQueries.expiredByIds",
+                            "ReservationQueries.claimedBy")),
+            entry("StockReservationRepositoryCustom.removeClaimed", List.of("ReservationQueries.claimedBy")),
+            entry("StockReservationRepositoryCustom.unclaim",
+                    List.of("ReservationQueries.claimedBy", "ReservationQueries.byUserAndProduct")),
+            entry("StockReservationRepositoryCustom.removeClaimsBefore", List.of("ReservationQueries.claimedBefore")));
+
+    // Reconciliation reads the whole ledger on purpose; it only holds recent carts
+    private static final Set<String> FULL_SCANS = Set.of(
+            "StockReservationRepositoryCustom.findHeldProductIds",
+            "StockReservationRepositoryCustom.totalsByProduct");
+
+    @Test
+    void everyRepositoryMethodHasAShape() throws ClassNotFoundException {
+        List<String> shapes = QueryPlanGuard.shapeNames();
+        Set<String> methods = repositoryMethods();
+
+        assertThat(methods).isNotEmpty();
+        for (String method : methods) {
+            if (FULL_SCANS.contains(method)) {
+                continue;
+            }
+            List<String> issued = shapes.contains(method) ? List.of(method) : ISSUED_SHAPES.get(method);
+            assertThat(issued).as("No query shape registered in QueryPlanGuard for %s", method).isNotNull();
+            assertThat(shapes).as("Shapes issued by %s", method).containsAll(issued);
+        }
+        // Entries for methods that were renamed or removed would otherwise go unnoticed
+        assertThat(methods).containsAll(ISSUED_SHAPES.keySet()).containsAll(FULL_SCANS);
+    }
+
+    // Methods declared on each repository interface and on the fragments it extends from this project
+    private static Set<String> repositoryMethods() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isInterface();
+            }
+        };
+        scanner.addIncludeFilter(new AssignableTypeFilter(Repository.class));
+
+        Set<String> methods = new LinkedHashSet<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(BASE_PACKAGE)) {
+            Class<?> repository = Class.forName(candidate.getBeanClassName());
+            List<Class<?>> declaring = new ArrayList<>(List.of(repository));
+            for (Class<?> parent : repository.getInterfaces()) {
+                if (parent.getPackageName().startsWith(BASE_PACKAGE)) {
+                    declaring.add(parent);
+                }
+            }
+            for (Class<?> type : declaring) {
+                for (Method method : type.getDeclaredMethods()) {
+                    if (!method.isDefault() && !method.isSynthetic() && !Modifier.isStatic(method.getModifiers())) {
+                        methods.add(type.getSimpleName() + "." + method.getName());
+                    }
+                }
+            }
+        }
+        return methods;
+    }
+}
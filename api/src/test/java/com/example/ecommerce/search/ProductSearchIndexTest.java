@@ -0,0 +1,126 @@
+package com.example.ecommerce.search;
+
+import com.example.ecommerce.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Matching, ranking and updates of the in-memory product index. No database is involved:
+ * products are indexed directly instead of through {@link ProductSearchIndex#build()}.
+ */
+class ProductSearchIndexTest {
+
+    private final ProductSearchIndex index = new ProductSearchIndex(null);
+
+    @Test
+    void matchesTokensInsideWordsAndShortPrefixes() {
+        index.index(product("1", "Stoneware Mug", "Holds hot coffee"));
+        index.index(product("2", "Glass Tumbler", "For cold drinks"));
+
+        assertThat(index.search("ware", 0, 10)).containsExactly("1");
+        assertThat(index.search("gl", 0, 10)).containsExactly("2");
+        assertThat(index.search("mug coffee", 0, 10)).containsExactly("1");
+        assertThat(index.search("mug drinks", 0, 10)).isEmpty();
+        assertThat(index.search("  ", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void ranksNameHitsAboveDescriptionHits() {
+        index.index(product("1", "Travel Kit", "Includes a small mug"));
+        index.index(product("2", "Enamel Mug", "Camping cup"));
+
+        assertThat(index.search("mug", 0, 10)).containsExactly("2", "1");
+    }
+
+    @Test
+    void pagesThroughResults() {
+        for (int i = 0; i < 5; i++) {
+            index.index(product(String.valueOf(i), "Mug " + i, null));
+        }
+
+        assertThat(index.search("mug", 0, 2)).containsExactly("0", "1");
+        assertThat(index.search("mug", 4, 2)).containsExactly("4");
+        assertThat(index.search("mug", 6, 2)).isEmpty();
+    }
+
+    @Test
+    void gramsSpreadOverWordsOrFieldsDoNotMatch() {
+        index.index(product("1", "Grand Canyon", "Windy day"));
+        index.index(product("2", "Grand Windy", null));
+        index.index(product("3", "Handy Tool", null));
+
+        // "and" and "ndy" are both indexed for 1 and 2, but neither holds "andy" in one word
+        assertThat(index.search("andy", 0, 10)).containsExactly("3");
+        assertThat(index.search("andy", 1, 10)).isEmpty();
+    }
+
+    @Test
+    void pagesFollowTheFullRanking() {
+        for (int i = 0; i < 40; i++) {
+            index.index(product(String.valueOf(i), i % 3 == 0 ? "Mug " + i : "Cup " + i,
+                    i % 3 == 0 ? null : "Pairs with a mug"));
+        }
+
+        List<String> all = index.search("mug", 0, 100);
+        List<String> paged = new ArrayList<>();
+        for (int offset = 0; offset < 40; offset += 7) {
+            paged.addAll(index.search("mug", offset, 7));
+        }
+
+        assertThat(all).hasSize(40).startsWith("0", "3", "6").endsWith("37", "38");
+        assertThat(paged).isEqualTo(all);
+    }
+
+    @Test
+    void reindexedProductOnlyMatchesItsNewText() {
+        index.index(product("1", "Stoneware Mug", "Holds hot coffee"));
+        index.index(product("2", "Stoneware Bowl", null));
+
+        index.index(product("1", "Porcelain Teapot", "Brews loose leaf tea"));
+
+        // The old document is tombstoned, so its grams no longer match
+        assertThat(index.search("mug", 0, 10)).isEmpty();
+        assertThat(index.search("stoneware", 0, 10)).containsExactly("2");
+        assertThat(index.search("teapot", 0, 10)).containsExactly("1");
+    }
+
+    @Test
+    void reindexingTheSameProductTwiceReturnsItOnce() {
+        index.index(product("1", "Stoneware Mug", null));
+        index.index(product("1", "Stoneware Mug", null));
+
+        assertThat(index.search("mug", 0, 10)).containsExactly("1");
+    }
+
+    @Test
+    void unchangedTextIsNotReindexed() {
+        assertThat(index.index(product("1", "Stoneware Mug", "Holds hot coffee"))).isTrue();
+        assertThat(index.index(product("1", "Stoneware Mug", "Holds hot coffee"))).isFalse();
+        assertThat(index.index(product("1", "Stoneware Mug", null))).isTrue();
+
+        assertThat(index.docCount()).isEqualTo(2);
+    }
+
+    @Test
+    void compactsOnceTombstonesOutnumberLiveDocuments() {
+        index.index(product("2", "Stoneware Bowl", null));
+        for (int i = 0; i < 1100; i++) {
+            index.index(product("1", "Mug " + i, null));
+        }
+
+        // Compacted at 1024 tombstones, then tombstoned again by the remaining updates
+        assertThat(index.docCount()).isLessThan(100);
+        assertThat(index.search("mug", 0, 10)).containsExactly("1");
+        assertThat(index.search("1099", 0, 10)).containsExactly("1");
+        assertThat(index.search("1098", 0, 10)).isEmpty();
+        assertThat(index.search("bowl", 0, 10)).containsExactly("2");
+    }
+
+    private static Product product(String id, String name, String description) {
+        return Product.builder().id(id).name(name).description(description).build();
+    }
+}
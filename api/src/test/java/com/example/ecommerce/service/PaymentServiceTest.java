@@ -0,0 +1,126 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.MongoIntegrationTest;
+import com.example.ecommerce.dto.PaymentWebhookRequest;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.Payment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payment results and the payment summary embedded in the order, in either order of
+ * arrival. Payments are inserted without a queued delivery, so the outbox leaves them alone.
+ */
+class PaymentServiceTest extends MongoIntegrationTest {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OrderService orderService;
+
+    private Order order;
+    private Payment payment;
+
+    @BeforeEach
+    void createOrderAndPayment() {
+        clear(Order.class, Payment.class);
+        order = insertOrder(25.0);
+        payment = mongoTemplate.insert(Payment.builder()
+                .orderId(order.getId())
+                .amount(25.0)
+                .status("PENDING")
+                .paymentId("pending")
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    @Test
+    void resultAfterSummaryUpdatesIt() {
+        orderService.updateOrderStatus(order.getId(), null, payment);
+
+        paymentService.applyPaymentResults(List.of(result("SUCCESS")));
+
+        Order updated = mongoTemplate.findById(order.getId(), Order.class);
+        assertThat(updated.getStatus()).isEqualTo("PAID");
+        assertThat(updated.getPayment().getStatus()).isEqualTo("SUCCESS");
+        assertThat(updated.getPayment().getPaymentId()).isEqualTo("pay-1");
+        assertThat(updated.getPayment().getAmount()).isEqualTo(25.0);
+    }
+
+    @Test
+    void summaryAfterResultKeepsTheResult() {
+        paymentService.applyPaymentResults(List.of(result("FAILED")));
+
+        // createPayment embeds the PENDING summary after the webhook already landed
+        orderService.updateOrderStatus(order.getId(), null, payment);
+
+        Order updated = mongoTemplate.findById(order.getId(), Order.class);
+        assertThat(updated.getStatus()).isEqualTo("FAILED");
+        assertThat(updated.getPayment().getStatus()).isEqualTo("FAILED");
+        assertThat(updated.getPayment().getPaymentId()).isEqualTo("pay-1");
+        assertThat(updated.getPayment().getId()).isEqualTo(payment.getId());
+        assertThat(updated.getPayment().getAmount()).isEqualTo(25.0);
+    }
+
+    @Test
+    void staleResultDoesNotReplaceALaterOne() {
+        paymentService.applyPaymentResults(List.of(result("SUCCESS"), result("FAILED")));
+        paymentService.applyPaymentResults(List.of(result("FAILED")));
+
+        assertThat(mongoTemplate.findById(payment.getId(), Payment.class).getStatus()).isEqualTo("SUCCESS");
+        assertThat(mongoTemplate.findById(order.getId(), Order.class).getStatus()).isEqualTo("PAID");
+    }
+
+    @Test
+    void resultForUnknownOrderWritesNothing() {
+        Order other = insertOrder(10.0);
+
+        paymentService.applyPaymentResults(List.of(result("SUCCESS"), PaymentWebhookRequest.builder()
+                .orderId(other.getId())
+                .paymentId("pay-2")
+                .status("SUCCESS")
+                .build()));
+
+        assertThat(mongoTemplate.findAll(Payment.class)).hasSize(1);
+        assertThat(mongoTemplate.findById(payment.getId(), Payment.class).getStatus()).isEqualTo("SUCCESS");
+        // The order's payment can still be created afterwards, without a placeholder in the way
+        mongoTemplate.insert(Payment.builder()
+                .orderId(other.getId())
+                .amount(10.0)
+                .status("PENDING")
+                .paymentId("pending")
+                .createdAt(Instant.now())
+                .build());
+        assertThat(mongoTemplate.findAll(Payment.class)).hasSize(2);
+    }
+
+    @Test
+    void resultForOrderWithoutPaymentLeavesItCreated() {
+        Order other = insertOrder(10.0);
+
+        paymentService.applyPaymentResults(List.of(PaymentWebhookRequest.builder()
+                .orderId(other.getId())
+                .paymentId("pay-2")
+                .status("SUCCESS")
+                .build()));
+
+        Order unchanged = mongoTemplate.findById(other.getId(), Order.class);
+        assertThat(unchanged.getStatus()).isEqualTo("CREATED");
+        assertThat(unchanged.getPayment()).isNull();
+    }
+
+    private PaymentWebhookRequest result(String status) {
+        return PaymentWebhookRequest.builder()
+                .orderId(order.getId())
+                .paymentId("pay-1")
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.MongoIntegrationTest;
+import com.example.ecommerce.dto.ProductImportReport;
+import com.example.ecommerce.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk product import: rows insert or update by id or sku, bad rows are reported by line,
+ * stock never drops below the units held, and long imports report progress as they go.
+ */
+class ProductImportServiceTest extends MongoIntegrationTest {
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private ProductService productService;
+
+    @BeforeEach
+    void clearProducts() {
+        clear(Product.class);
+    }
+
+    @Test
+    void insertsNewRowsAndUpdatesExistingOnes() throws IOException {
+        ProductImportReport first = importCsv("""
+                sku,name,description,price,stock
+                MUG-1,Stoneware Mug,Holds hot coffee,12.5,10
+                BOWL-1,Stoneware Bowl,,8,3
+                ,No Key,,1,1
+                """);
+
+        assertThat(first.isComplete()).isTrue();
+        assertThat(first.getInserted()).isEqualTo(2);
+        assertThat(first.getRejected()).isEqualTo(1);
+        assertThat(first.getErrors()).extracting(ProductImportReport.RowError::getLine).containsExactly(4L);
+
+        ProductImportReport second = importCsv("""
+                sku,name,price,stock
+                MUG-1,$5 Mug,9,4
+                """);
+
+        assertThat(second.getUpdated()).isEqualTo(1);
+        Product mug = bySku("MUG-1");
+        assertThat(mug.getName()).isEqualTo("$5 Mug");
+        assertThat(mug.getDescription()).isEqualTo("Holds hot coffee");
+        assertThat(mug.getPrice()).isEqualTo(9.0);
+        assertThat(mug.getStock()).isEqualTo(4);
+        assertThat(productService.searchProducts("5 mug", 0, 10)).extracting(Product::getSku).containsExactly("MUG-1");
+    }
+
+    @Test
+    void stockIsClampedToTheUnitsHeld() throws IOException {
+        importCsv("""
+                sku,name,price,stock
+                MUG-1,Stoneware Mug,12.5,10
+                """);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("sku").is("MUG-1")),
+                new Update().set("reserved", 6), Product.class);
+
+        importCsv("""
+                sku,name,price,stock
+                MUG-1,Stoneware Mug,12.5,2
+                """);
+
+        Product mug = bySku("MUG-1");
+        assertThat(mug.getStock()).isEqualTo(6);
+        assertThat(mug.getReserved()).isEqualTo(6);
+    }
+
+    @Test
+    void reportsProgressToTheCaller() throws IOException {
+        StringBuilder feed = new StringBuilder();
+        for (int i = 0; i < 25_000; i++) {
+            feed.append("{\"sku\":\"SKU-").append(i).append("\",\"name\":\"Item ").append(i)
+                    .append("\",\"price\":1,\"stock\":1}\n");
+        }
+
+        List<ProductImportReport> progress = new ArrayList<>();
+        ProductImportReport report = importService.importFrom(
+                new ByteArrayInputStream(feed.toString().getBytes(StandardCharsets.UTF_8)),
+                ProductImportService.Format.NDJSON, progress::add);
+
+        assertThat(progress).hasSize(2);
+        assertThat(progress).noneMatch(ProductImportReport::isComplete);
+        assertThat(progress).extracting(ProductImportReport::getRows).containsExactly(10_000L, 20_000L);
+        assertThat(report.isComplete()).isTrue();
+        assertThat(report.getInserted()).isEqualTo(25_000);
+    }
+
+    private ProductImportReport importCsv(String csv) throws IOException {
+        return importService.importFrom(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                ProductImportService.Format.CSV);
+    }
+
+    private Product bySku(String sku) {
+        return mongoTemplate.findOne(Query.query(Criteria.where("sku").is(sku)), Product.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.MongoIntegrationTest;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.model.StockReservation;
+import com.example.ecommerce.service.ReservationService.Claim;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Holds taken while a checkout has the user's earlier holds claimed stay out of the claim:
+ * completing the checkout does not delete them, and handing the claim back merges into them.
+ */
+class ReservationServiceTest extends MongoIntegrationTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ProductService productService;
+
+    @BeforeEach
+    void clearData() {
+        clear(Product.class, StockReservation.class);
+    }
+
+    @Test
+    void holdDuringCheckoutSurvivesComplete() {
+        String mug = insertProduct("Mug", 10, 0);
+        reservationService.hold("alice", mug, 2);
+
+        Claim claim = reservationService.claim("alice", List.of(mug));
+        assertThat(reservationService.hold("alice", mug, 3)).isTrue();
+        productService.decrementStock(claim.quantities(), claim.quantities());
+        reservationService.complete(claim);
+
+        assertThat(claim.quantities()).containsExactly(Map.entry(mug, 2));
+        assertThat(product(mug).getStock()).isEqualTo(8);
+        assertThat(product(mug).getReserved()).isEqualTo(3);
+        assertThat(heldUnits("alice", mug)).isEqualTo(3);
+    }
+
+    @Test
+    void restoredClaimMergesIntoHoldTakenSince() {
+        String mug = insertProduct("Mug", 10, 0);
+        reservationService.hold("alice", mug, 2);
+
+        Claim claim = reservationService.claim("alice", List.of(mug));
+        assertThat(reservationService.hold("alice", mug, 3)).isTrue();
+        reservationService.restore(claim);
+
+        List<StockReservation> holds = mongoTemplate.findAll(StockReservation.class);
+        assertThat(holds).hasSize(1);
+        assertThat(holds.get(0).getClaimToken()).isNull();
+        assertThat(holds.get(0).getQuantity()).isEqualTo(5);
+        assertThat(product(mug).getReserved()).isEqualTo(5);
+        assertThat(reservationService.reconcile()).isZero();
+    }
+
+    @Test
+    void unholdDuringCheckoutLeavesTheClaimAlone() {
+        String mug = insertProduct("Mug", 10, 0);
+        reservationService.hold("alice", mug, 2);
+
+        Claim claim = reservationService.claim("alice", List.of(mug));
+        reservationService.hold("alice", mug, 1);
+        reservationService.unhold("alice", mug, 1);
+        productService.decrementStock(claim.quantities(), claim.quantities());
+        reservationService.complete(claim);
+
+        assertThat(product(mug).getStock()).isEqualTo(8);
+        assertThat(product(mug).getReserved()).isZero();
+        assertThat(heldUnits("alice", mug)).isZero();
+    }
+
+    private int heldUnits(String userId, String productId) {
+        return mongoTemplate.findAll(StockReservation.class).stream()
+                .filter(hold -> hold.getUserId().equals(userId) && hold.getProductId().equals(productId))
+                .mapToInt(StockReservation::getQuantity)
+                .sum();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.MongoIntegrationTest;
+import com.example.ecommerce.exception.InsufficientStockException;
+import com.example.ecommerce.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Conditional stock decrements: a checkout either takes all of its lines or leaves every
+ * product as it was, and a line for a product that no longer exists writes nothing.
+ */
+class StockServiceTest extends MongoIntegrationTest {
+
+    @Autowired
+    private StockService stockService;
+
+    @BeforeEach
+    void clearProducts() {
+        clear(Product.class);
+    }
+
+    @Test
+    void decrementsEveryLine() {
+        String mug = insertProduct("Mug", 10, 0);
+        String plate = insertProduct("Plate", 5, 0);
+
+        stockService.decrement(lines(mug, 3, plate, 5));
+
+        assertThat(stock(mug)).isEqualTo(7);
+        assertThat(stock(plate)).isZero();
+    }
+
+    @Test
+    void rejectedLineRollsBackTheLinesThatApplied() {
+        String mug = insertProduct("Mug", 10, 0);
+        String plate = insertProduct("Plate", 1, 0);
+        String bowl = insertProduct("Bowl", 4, 0);
+
+        assertThatThrownBy(() -> stockService.decrement(lines(mug, 3, plate, 2, bowl, 4)))
+                .isInstanceOf(InsufficientStockException.class)
+                .satisfies(e -> assertThat(((InsufficientStockException) e).getProductIds()).containsExactly(plate));
+
+        assertThat(stock(mug)).isEqualTo(10);
+        assertThat(stock(plate)).isEqualTo(1);
+        assertThat(stock(bowl)).isEqualTo(4);
+    }
+
+    @Test
+    void unitsHeldForOtherCartsAreNotAvailable() {
+        String mug = insertProduct("Mug", 5, 3);
+
+        assertThatThrownBy(() -> stockService.decrement(lines(mug, 3)))
+                .isInstanceOf(InsufficientStockException.class);
+        assertThat(stock(mug)).isEqualTo(5);
+
+        // The caller's own held units convert into the decrement
+        stockService.decrement(lines(mug, 4), Map.of(mug, 3));
+        Product product = product(mug);
+        assertThat(product.getStock()).isEqualTo(1);
+        assertThat(product.getReserved()).isZero();
+    }
+
+    @Test
+    void deletedProductIsRejectedWithoutWritingIt() {
+        String mug = insertProduct("Mug", 10, 0);
+        String deleted = insertProduct("Deleted", 10, 0);
+        mongoTemplate.remove(mongoTemplate.findById(deleted, Product.class));
+
+        assertThatThrownBy(() -> stockService.decrement(lines(mug, 2, deleted, 1)))
+                .isInstanceOf(InsufficientStockException.class)
+                .satisfies(e -> assertThat(((InsufficientStockException) e).getProductIds()).containsExactly(deleted));
+
+        assertThat(stock(mug)).isEqualTo(10);
+        assertThat(mongoTemplate.findById(deleted, Product.class)).isNull();
+        assertThat(mongoTemplate.findAll(Product.class)).hasSize(1);
+    }
+
+    private int stock(String productId) {
+        return product(productId).getStock();
+    }
+
+    // Lines in the given order: product id, quantity, product id, quantity...
+    private static Map<String, Integer> lines(Object... idsAndQuantities) {
+        Map<String, Integer> lines = new LinkedHashMap<>();
+        for (int i = 0; i < idsAndQuantities.length; i += 2) {
+            lines.put((String) idsAndQuantities[i], (Integer) idsAndQuantities[i + 1]);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.dto.AddToCartRequest;
+import com.example.ecommerce.dto.CartItemResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CartServiceBenchmark {
+
+    private static final String USER_ID = "bench-user";
+
+    @Param({"1", "5", "20"})
+    private int cartSize;
+
+    private ServiceFixture fixture;
+    private AddToCartRequest[] addRequests;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        fixture = new ServiceFixture(1000, true, false);
+        fixture.fillCart(USER_ID, cartSize);
+
+        // Re-adding products already in the cart exercises the update path without growing the cart
+        addRequests = new AddToCartRequest[cartSize];
+        for (int i = 0; i < cartSize; i++) {
+            addRequests[i] = AddToCartRequest.builder()
+                    .userId(USER_ID)
+                    .productId(fixture.productIds.get(i))
+                    .quantity(1)
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public List<CartItemResponse> getCartItems() {
+        return fixture.cartService.getCartItems(USER_ID, null);
+    }
+
+    @Benchmark
+    public CartItemResponse addToCart() {
+        AddToCartRequest request = addRequests[next];
+        next = (next + 1) % addRequests.length;
+        return fixture.cartService.addToCart(request);
+    }
+}
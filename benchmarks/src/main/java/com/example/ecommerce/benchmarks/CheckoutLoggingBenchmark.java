@@ -0,0 +1,128 @@
+package com.example.ecommerce.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.example.ecommerce.dto.OrderResponse;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout throughput from several threads under different logging setups. Output goes
+ * to a temp file rather than the console so the JMH report stays readable; the
+ * appender lock that serialises request threads is the same one.
+ *
+ * <ul>
+ *   <li>{@code SYNC_DEBUG}: the previous setup, every per-call line written synchronously</li>
+ *   <li>{@code ASYNC_DEBUG}: the same lines through the async appender</li>
+ *   <li>{@code ASYNC_INFO}: the current default, only the per-request summary line</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class CheckoutLoggingBenchmark {
+
+    private static final org.slf4j.Logger REQUEST_LOG = LoggerFactory.getLogger("com.example.ecommerce.request");
+
+    public enum LoggingMode {
+        SYNC_DEBUG(false, ch.qos.logback.classic.Level.DEBUG),
+        ASYNC_DEBUG(true, ch.qos.logback.classic.Level.DEBUG),
+        ASYNC_INFO(true, ch.qos.logback.classic.Level.INFO);
+
+        private final boolean async;
+        private final ch.qos.logback.classic.Level level;
+
+        LoggingMode(boolean async, ch.qos.logback.classic.Level level) {
+            this.async = async;
+            this.level = level;
+        }
+
+        void apply(Path file) {
+            LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+            context.reset();
+
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(context);
+            encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %logger{39} : %m%n");
+            encoder.start();
+
+            FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+            fileAppender.setContext(context);
+            fileAppender.setName("FILE");
+            fileAppender.setFile(file.toString());
+            fileAppender.setEncoder(encoder);
+            fileAppender.start();
+
+            // Same settings as logback-spring.xml in the application
+            Appender<ILoggingEvent> appender = fileAppender;
+            if (async) {
+                AsyncAppender asyncAppender = new AsyncAppender();
+                asyncAppender.setContext(context);
+                asyncAppender.setName("ASYNC");
+                asyncAppender.setQueueSize(8192);
+                asyncAppender.setNeverBlock(true);
+                asyncAppender.setIncludeCallerData(false);
+                asyncAppender.addAppender(fileAppender);
+                asyncAppender.start();
+                appender = asyncAppender;
+            }
+
+            Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+            root.setLevel(ch.qos.logback.classic.Level.WARN);
+            root.addAppender(appender);
+            context.getLogger("com.example.ecommerce").setLevel(level);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Shop {
+
+        @Param({"SYNC_DEBUG", "ASYNC_DEBUG", "ASYNC_INFO"})
+        LoggingMode logging;
+
+        ServiceFixture fixture;
+        private Path logFile;
+
+        @Setup
+        public void setUp() throws IOException {
+            fixture = new ServiceFixture(1000, false, false);
+            logFile = Files.createTempFile("checkout-logging", ".log");
+            logging.apply(logFile);
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+            Files.deleteIfExists(logFile);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Shopper {
+        final String userId = "bench-" + UUID.randomUUID();
+    }
+
+    /** A three-line checkout plus the summary line the request filter would write. */
+    @Benchmark
+    public OrderResponse checkout(Shop shop, Shopper shopper) {
+        long start = System.nanoTime();
+        shop.fixture.fillCart(shopper.userId, 3);
+        OrderResponse order = shop.fixture.orderService.createOrder(shopper.userId);
+        REQUEST_LOG.info("{} {} {} {}ms", "POST", "/api/orders", 201, (System.nanoTime() - start) / 1_000_000);
+        return order;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.dto.ProductSummary;
+import com.example.ecommerce.model.Cart;
+import com.example.ecommerce.model.CartLine;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.OrderItem;
+import com.example.ecommerce.model.Payment;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.model.StockReservation;
+import com.example.ecommerce.repository.CartQueries;
+import com.example.ecommerce.repository.CartRepository;
+import com.example.ecommerce.repository.OrderItemRepository;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.PaymentRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.repository.StockReservationRepository;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Repository stand-ins backed by {@link InMemoryStore}. They are JDK proxies, like the
+ * Spring Data repositories they replace; only the methods the services call are
+ * implemented and anything else fails loudly.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static ProductRepository products(InMemoryStore<Product> store) {
+        return repository(ProductRepository.class, store, Map.of(
+                "findCatalogByIds", args -> store.findAllById((Collection<String>) args[0]),
+                "findSummariesByIds", args -> store.findAllById((Collection<String>) args[0]).stream()
+                        .map(product -> ProductSummary.from(product, (Collection<String>) args[1]))
+                        .toList()));
+    }
+
+    static CartRepository cart(InMemoryStore<Cart> store) {
+        return repository(CartRepository.class, store, Map.of(
+                "addToLine", args -> {
+                    Cart cart = store.computeIfAbsent((String) args[0],
+                            userId -> new Cart(userId, new ArrayList<>(), Instant.now(), null));
+                    synchronized (cart) {
+                        CartLine line = cart.findLine((String) args[1]);
+                        int quantity = (Integer) args[2];
+                        Optional<Integer> after = CartQueries.quantityAfterAdd(line, quantity, (Integer) args[3]);
+                        if (after.isPresent() && line != null) {
+                            line.setQuantity(after.get());
+                        } else if (after.isPresent()) {
+                            cart.getLines().add(new CartLine((String) args[1], quantity));
+                        }
+                        return after;
+                    }
+                }));
+    }
+
+    // Holds are keyed by user and product, like the unique index on the collection
+    @SuppressWarnings("unchecked")
+    static StockReservationRepository reservations(InMemoryStore<StockReservation> store) {
+        return repository(StockReservationRepository.class, store, Map.of(
+                "hold", args -> {
+                    StockReservation reservation = store.computeIfAbsent(args[0] + "|" + args[1],
+                            id -> new StockReservation(id, (String) args[0], (String) args[1], 0, null, null, null));
+                    synchronized (reservation) {
+                        reservation.setQuantity(reservation.getQuantity() + (Integer) args[2]);
+                        reservation.setExpiresAt((Instant) args[3]);
+                    }
+                    return null;
+                },
+                // Only the user and product filters of ReservationQueries.unclaimed are read
+                "claim", args -> {
+                    Document filter = ((Query) args[0]).getQueryObject();
+                    Document in = filter.get("productId", Document.class);
+                    Collection<String> productIds = in == null ? null : (Collection<String>) in.get("$in");
+                    List<StockReservation> claimed = new ArrayList<>();
+                    List<StockReservation> matching = store.filter(held -> held.getUserId().equals(filter.get("userId"))
+                            && (productIds == null || productIds.contains(held.getProductId())));
+                    for (StockReservation reservation : matching) {
+                        synchronized (reservation) {
+                            if (reservation.getClaimToken() == null) {
+                                reservation.setClaimToken((String) args[1]);
+                                reservation.setClaimedAt((Instant) args[2]);
+                                claimed.add(reservation);
+                            }
+                        }
+                    }
+                    return claimed;
+                },
+                "removeClaimed", args -> {
+                    store.filter(held -> args[0].equals(held.getClaimToken()))
+                            .forEach(held -> store.deleteById(held.getId()));
+                    return null;
+                }));
+    }
+
+    static OrderRepository orders(InMemoryStore<Order> store) {
+        return repository(OrderRepository.class, store, Map.of());
+    }
+
+    static OrderItemRepository orderItems(InMemoryStore<OrderItem> store) {
+        return repository(OrderItemRepository.class, store, Map.of(
+                "findByOrderId", args -> store.filter(item -> item.getOrderId().equals(args[0]))));
+    }
+
+    static PaymentRepository payments(InMemoryStore<Payment> store) {
+        return repository(PaymentRepository.class, store, Map.of(
+                "findByOrderId", args -> store.first(payment -> payment.getOrderId().equals(args[0]))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R, T> R repository(Class<R> type, InMemoryStore<T> store,
+                                       Map<String, Function<Object[], Object>> queries) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> query = queries.get(method.getName());
+            if (query != null) {
+                return query.apply(args);
+            }
+            return switch (method.getName()) {
+                case "findById" -> store.findById((String) args[0]);
+                case "findAllById" -> store.findAllById((Iterable<String>) args[0]);
+                case "findAll" -> store.findAll();
+                case "save", "insert" -> args[0] instanceof Iterable<?> documents
+                        ? store.saveAll((Iterable<T>) documents)
+                        : store.save((T) args[0]);
+                case "saveAll" -> store.saveAll((Iterable<T>) args[0]);
+                case "deleteById" -> {
+                    store.deleteById((String) args[0]);
+                    yield null;
+                }
+                case "count" -> (long) store.size();
+                case "toString" -> "InMemory" + type.getSimpleName();
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(
+                        type.getSimpleName() + "." + method.getName() + " is not stubbed");
+            };
+        }));
+    }
+}
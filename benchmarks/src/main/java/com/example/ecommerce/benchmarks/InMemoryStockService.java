@@ -0,0 +1,64 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.exception.InsufficientStockException;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.service.StockService;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * All-or-nothing stock changes and reservations against the in-memory product store,
+ * in place of the conditional {@code $inc} updates that {@link StockService} sends to Mongo.
+ */
+final class InMemoryStockService extends StockService {
+
+    private final InMemoryStore<Product> products;
+
+    InMemoryStockService(InMemoryStore<Product> products) {
+        super(null);
+        this.products = products;
+    }
+
+    @Override
+    public synchronized void decrement(Map<String, Integer> quantities, Map<String, Integer> released) {
+        Set<String> failed = new LinkedHashSet<>();
+        quantities.forEach((productId, quantity) -> {
+            Product product = products.findById(productId).orElse(null);
+            if (product == null || product.availableStock() < quantity - released.getOrDefault(productId, 0)) {
+                failed.add(productId);
+            }
+        });
+        if (!failed.isEmpty()) {
+            throw new InsufficientStockException("Insufficient stock for products: " + failed, failed);
+        }
+        quantities.forEach((productId, quantity) -> adjust(productId, -quantity));
+        release(released);
+    }
+
+    @Override
+    public synchronized void increment(Map<String, Integer> quantities) {
+        quantities.forEach(this::adjust);
+    }
+
+    @Override
+    public synchronized boolean reserve(String productId, int quantity) {
+        Product product = products.findById(productId).orElse(null);
+        if (product == null || product.availableStock() < quantity) {
+            return false;
+        }
+        product.setReserved((product.getReserved() == null ? 0 : product.getReserved()) + quantity);
+        return true;
+    }
+
+    @Override
+    public synchronized void release(Map<String, Integer> quantities) {
+        quantities.forEach((productId, quantity) -> products.findById(productId)
+                .ifPresent(product -> product.setReserved(product.getReserved() - quantity)));
+    }
+
+    private void adjust(String productId, int delta) {
+        products.findById(productId).ifPresent(product -> product.setStock(product.getStock() + delta));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.ecommerce.benchmarks;
+
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A collection held in a map, standing in for Mongo. Ids are assigned on save like
+ * Mongo would. A store created with {@code retainWrites = false} accepts writes and
+ * drops them, so write-heavy benchmarks do not grow the heap for the whole run.
+ */
+final class InMemoryStore<T> {
+
+    private final Map<String, T> documents = new ConcurrentHashMap<>();
+    private final Function<T, String> idGetter;
+    private final BiConsumer<T, String> idSetter;
+    private final boolean retainWrites;
+
+    InMemoryStore(Function<T, String> idGetter, BiConsumer<T, String> idSetter, boolean retainWrites) {
+        this.idGetter = idGetter;
+        this.idSetter = idSetter;
+        this.retainWrites = retainWrites;
+    }
+
+    T save(T document) {
+        String id = idGetter.apply(document);
+        if (id == null) {
+            id = new ObjectId().toHexString();
+            idSetter.accept(document, id);
+        }
+        if (retainWrites) {
+            documents.put(id, document);
+        }
+        return document;
+    }
+
+    // Only for stores keyed by a natural id, like carts by user
+    T computeIfAbsent(String id, Function<String, T> factory) {
+        return documents.computeIfAbsent(id, factory);
+    }
+
+    List<T> saveAll(Iterable<T> documents) {
+        List<T> saved = new ArrayList<>();
+        documents.forEach(document -> saved.add(save(document)));
+        return saved;
+    }
+
+    Optional<T> findById(String id) {
+        return Optional.ofNullable(documents.get(id));
+    }
+
+    List<T> findAllById(Iterable<String> ids) {
+        List<T> found = new ArrayList<>();
+        for (String id : ids) {
+            T document = documents.get(id);
+            if (document != null) {
+                found.add(document);
+            }
+        }
+        return found;
+    }
+
+    // Scans are fine here: benchmark stores hold at most a few thousand documents
+    List<T> filter(Predicate<T> predicate) {
+        List<T> found = new ArrayList<>();
+        for (T document : documents.values()) {
+            if (predicate.test(document)) {
+                found.add(document);
+            }
+        }
+        return found;
+    }
+
+    Optional<T> first(Predicate<T> predicate) {
+        for (T document : documents.values()) {
+            if (predicate.test(document)) {
+                return Optional.of(document);
+            }
+        }
+        return Optional.empty();
+    }
+
+    void deleteById(String id) {
+        documents.remove(id);
+    }
+
+    void removeIf(Predicate<T> predicate) {
+        documents.values().removeIf(predicate);
+    }
+
+    List<T> findAll() {
+        return new ArrayList<>(documents.values());
+    }
+
+    int size() {
+        return documents.size();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.dto.OrderResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    private static final String USER_ID = "bench-user";
+
+    @State(Scope.Benchmark)
+    public static class Checkout {
+
+        @Param({"1", "5", "20"})
+        int lines;
+
+        @Param({"false", "true"})
+        boolean embeddedItems;
+
+        ServiceFixture fixture;
+
+        @Setup
+        public void setUp() {
+            // Orders are written and dropped so millions of invocations don't fill the heap
+            fixture = new ServiceFixture(1000, false, embeddedItems);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PlacedOrder {
+
+        @Param({"1", "5", "20"})
+        int lines;
+
+        @Param({"false", "true"})
+        boolean embeddedItems;
+
+        ServiceFixture fixture;
+        String orderId;
+
+        @Setup
+        public void setUp() {
+            fixture = new ServiceFixture(1000, true, embeddedItems);
+            fixture.fillCart(USER_ID, lines);
+            orderId = fixture.orderService.createOrder(USER_ID).getId();
+        }
+    }
+
+    /** Includes refilling the cart, which is a handful of map puts. */
+    @Benchmark
+    public OrderResponse createOrder(Checkout state) {
+        state.fixture.fillCart(USER_ID, state.lines);
+        return state.fixture.orderService.createOrder(USER_ID);
+    }
+
+    @Benchmark
+    public OrderResponse getOrderById(PlacedOrder state) {
+        return state.fixture.orderService.getOrderById(state.orderId);
+    }
+}
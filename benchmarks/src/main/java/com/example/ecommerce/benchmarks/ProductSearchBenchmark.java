@@ -0,0 +1,34 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+
+    @Param({"1000", "10000"})
+    private int products;
+
+    @Param({"keyboard", "key", "wireless mouse", "premium laptop stand", "nothing-matches"})
+    private String query;
+
+    private ServiceFixture fixture;
+
+    @Setup
+    public void setUp() {
+        fixture = new ServiceFixture(products, true, false);
+    }
+
+    @Benchmark
+    public List<Product> searchProducts() {
+        return fixture.productService.searchProducts(query, 0, 20);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.dto.CartItemResponse;
+import com.example.ecommerce.dto.OrderResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final String USER_ID = "bench-user";
+
+    @Param({"1", "5", "20"})
+    private int lines;
+
+    private ObjectMapper objectMapper;
+    private OrderResponse order;
+    private List<CartItemResponse> cart;
+
+    @Setup
+    public void setUp() {
+        // Same mapper setup Spring Boot applies to HTTP responses by default
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        ServiceFixture fixture = new ServiceFixture(1000, true, false);
+        fixture.fillCart(USER_ID, lines);
+        cart = fixture.cartService.getCartItems(USER_ID, null);
+        order = fixture.orderService.getOrderById(fixture.orderService.createOrder(USER_ID).getId());
+    }
+
+    @Benchmark
+    public byte[] serializeOrderResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] serializeCartItems() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cart);
+    }
+}
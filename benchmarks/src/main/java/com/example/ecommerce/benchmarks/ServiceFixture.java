@@ -0,0 +1,114 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.cache.CatalogRevision;
+import com.example.ecommerce.cache.ProductCache;
+import com.example.ecommerce.config.ReadRouting;
+import com.example.ecommerce.metrics.CommerceMetrics;
+import com.example.ecommerce.model.Cart;
+import com.example.ecommerce.model.CartLine;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.OrderItem;
+import com.example.ecommerce.model.Payment;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.model.StockReservation;
+import com.example.ecommerce.search.ProductSearchIndex;
+import com.example.ecommerce.service.CartService;
+import com.example.ecommerce.service.OrderService;
+import com.example.ecommerce.service.ProductService;
+import com.example.ecommerce.service.ReservationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The real services wired to in-memory stand-ins, seeded with a deterministic catalog.
+ */
+final class ServiceFixture {
+
+    static final String[] ADJECTIVES = {
+            "wireless", "ergonomic", "compact", "premium", "portable", "classic", "smart", "rugged",
+            "silent", "mechanical", "adjustable", "waterproof"
+    };
+    static final String[] NOUNS = {
+            "keyboard", "mouse", "headphones", "monitor", "laptop", "speaker", "charger", "backpack",
+            "webcam", "microphone", "stand", "dock"
+    };
+
+    // Large enough that checkout benchmarks never run a product out of stock
+    private static final int STOCK = Integer.MAX_VALUE / 2;
+
+    final InMemoryStore<Product> products = new InMemoryStore<>(Product::getId, Product::setId, true);
+    final InMemoryStore<Cart> carts = new InMemoryStore<>(Cart::getUserId, Cart::setUserId, true);
+    final InMemoryStore<Order> orders;
+    final InMemoryStore<OrderItem> orderItems;
+    final InMemoryStore<Payment> payments = new InMemoryStore<>(Payment::getId, Payment::setId, true);
+    final InMemoryStore<StockReservation> reservations =
+            new InMemoryStore<>(StockReservation::getId, StockReservation::setId, true);
+
+    final ProductService productService;
+    final CartService cartService;
+    final OrderService orderService;
+    final List<String> productIds = new ArrayList<>();
+
+    ServiceFixture(int productCount, boolean retainOrders, boolean embeddedItems) {
+        orders = new InMemoryStore<>(Order::getId, Order::setId, retainOrders);
+        orderItems = new InMemoryStore<>(OrderItem::getId, OrderItem::setId, retainOrders);
+
+        ProductSearchIndex searchIndex = new ProductSearchIndex(null);
+        CommerceMetrics metrics = new CommerceMetrics(new SimpleMeterRegistry());
+        productService = new ProductService(InMemoryRepositories.products(products),
+                new InMemoryStockService(products), new ProductCache(10_000, Duration.ofMinutes(5)), searchIndex,
+                new CatalogRevision(Duration.ofSeconds(90)));
+        ReservationService reservationService =
+                new ReservationService(InMemoryRepositories.reservations(reservations), productService);
+        inject(reservationService, "ttl", Duration.ofMinutes(15));
+        cartService = new CartService(InMemoryRepositories.cart(carts), productService, reservationService, metrics);
+        orderService = new OrderService(InMemoryRepositories.orders(orders),
+                InMemoryRepositories.orderItems(orderItems), InMemoryRepositories.cart(carts),
+                InMemoryRepositories.payments(payments), productService, reservationService,
+                new ReadRouting(false, Duration.ofSeconds(90), Duration.ofSeconds(100), 10_000), metrics);
+        inject(orderService, "embeddedItems", embeddedItems);
+
+        Random random = new Random(42);
+        for (int i = 0; i < productCount; i++) {
+            String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            Product product = productService.createProduct(Product.builder()
+                    .name(capitalize(adjective) + " " + capitalize(noun) + " " + i)
+                    .description("A " + adjective + " " + noun + " for everyday use, model " + i)
+                    .price(5.0 + random.nextInt(500))
+                    .stock(STOCK)
+                    .build());
+            productIds.add(product.getId());
+        }
+    }
+
+    void fillCart(String userId, int lines) {
+        List<CartLine> cartLines = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            cartLines.add(new CartLine(productIds.get(i % productIds.size()), 1));
+        }
+        carts.save(new Cart(userId, cartLines, Instant.now(), null));
+    }
+
+    // Sets a field Spring would inject from configuration, such as order.storage.embedded
+    private static void inject(Object service, String name, Object value) {
+        try {
+            Field field = service.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(service, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                    service.getClass().getSimpleName() + " no longer has a " + name + " field", e);
+        }
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
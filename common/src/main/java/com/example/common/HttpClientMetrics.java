@@ -0,0 +1,107 @@
+package com.example.common;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records per-route latency of outbound RestTemplate calls and reports it together
+ * with the connection pool's lease counters.
+ */
+public class HttpClientMetrics implements ClientHttpRequestInterceptor {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final ConcurrentMap<String, RouteLatency> latencies = new ConcurrentHashMap<>();
+
+    public HttpClientMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        RouteLatency latency = latencies.computeIfAbsent(routeKey(request.getURI()), key -> new RouteLatency());
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            // Measured up to the response headers; reading the body is left to the caller
+            ClientHttpResponse response = execution.execute(request, body);
+            failed = response.getStatusCode().isError();
+            return response;
+        } finally {
+            latency.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> pool = poolStats(connectionManager.getTotalStats());
+        Map<String, Object> routes = new LinkedHashMap<>();
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            routes.put(route.getTargetHost().toURI(), poolStats(connectionManager.getStats(route)));
+        }
+        pool.put("routes", routes);
+
+        Map<String, Object> requests = new LinkedHashMap<>();
+        latencies.forEach((route, latency) -> requests.put(route, latency.snapshot()));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pool", pool);
+        stats.put("requests", requests);
+        return stats;
+    }
+
+    private static Map<String, Object> poolStats(PoolStats stats) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("leased", stats.getLeased());
+        result.put("available", stats.getAvailable());
+        result.put("pending", stats.getPending());
+        result.put("max", stats.getMax());
+        return result;
+    }
+
+    private static String routeKey(URI uri) {
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equals(uri.getScheme()) ? 443 : 80);
+        return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+    }
+
+    private static final class RouteLatency {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        void record(long nanos, boolean failed) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        Map<String, Object> snapshot() {
+            long requests = count.sum();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("count", requests);
+            result.put("errors", errors.sum());
+            result.put("meanMs", requests == 0 ? 0.0 : totalNanos.sum() / (double) requests / 1_000_000);
+            result.put("maxMs", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+            return result;
+        }
+    }
+}
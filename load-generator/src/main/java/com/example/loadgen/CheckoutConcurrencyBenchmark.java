@@ -0,0 +1,127 @@
+package com.example.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fires N concurrent checkouts (add-to-cart followed by create-order, one user each)
+ * at a running API and reports throughput and latency percentiles per concurrency level.
+ *
+ * <p>Run it once against the default thread pools and once against the {@code virtual}
+ * profile to compare:
+ * <pre>
+ * java load-generator/src/main/java/com/example/loadgen/CheckoutConcurrencyBenchmark.java http://localhost:8080 1000,2500,5000,10000
+ * </pre>
+ */
+public class CheckoutConcurrencyBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int[] levels = Arrays.stream((args.length > 1 ? args[1] : "1000,2500,5000,10000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            int totalCheckouts = Arrays.stream(levels).sum();
+            String productId = createProduct(client, baseUrl, totalCheckouts);
+            System.out.printf("Benchmark product %s with stock %d%n", productId, totalCheckouts);
+            System.out.printf("%8s %10s %10s %10s %10s %10s %8s%n",
+                    "threads", "ops/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors");
+
+            for (int level : levels) {
+                runLevel(client, baseUrl, productId, level);
+            }
+        }
+    }
+
+    private static void runLevel(HttpClient client, String baseUrl, String productId, int concurrency)
+            throws InterruptedException {
+        long[] latencies = new long[concurrency];
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                final int slot = i;
+                users.submit(() -> {
+                    String userId = "bench-" + UUID.randomUUID();
+                    try {
+                        start.await();
+                        long begin = System.nanoTime();
+                        post(client, baseUrl + "/api/cart/add", String.format(
+                                "{\"userId\":\"%s\",\"productId\":\"%s\",\"quantity\":1}", userId, productId));
+                        post(client, baseUrl + "/api/orders", String.format("{\"userId\":\"%s\"}", userId));
+                        latencies[slot] = System.nanoTime() - begin;
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                        latencies[slot] = -1;
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            done.await();
+            double seconds = (System.nanoTime() - begin) / 1e9;
+
+            long[] ok = Arrays.stream(latencies).filter(l -> l >= 0).sorted().toArray();
+            System.out.printf("%8d %10.1f %10.1f %10.1f %10.1f %10.1f %8d%n",
+                    concurrency, ok.length / seconds,
+                    percentile(ok, 0.50), percentile(ok, 0.90), percentile(ok, 0.99),
+                    percentile(ok, 1.0), errors.get());
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static String createProduct(HttpClient client, String baseUrl, int stock) throws Exception {
+        String body = post(client, baseUrl + "/api/products", String.format(
+                "{\"name\":\"Benchmark item\",\"description\":\"checkout benchmark\",\"price\":1.0,\"stock\":%d}",
+                stock));
+        Matcher matcher = ID.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Could not read product id from: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static String post(HttpClient client, String url, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(url + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+}
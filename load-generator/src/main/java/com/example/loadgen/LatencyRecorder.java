@@ -0,0 +1,74 @@
+package com.example.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms and error counts. Recording is switched off during
+ * warm-up so the report only covers the measured window.
+ */
+class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void start() {
+        histograms.clear();
+        errors.clear();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+    }
+
+    void recordNanos(String operation, long nanos) {
+        if (recording) {
+            long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS);
+            histograms.computeIfAbsent(operation, key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+                    .recordValue(micros);
+        }
+    }
+
+    void recordError(String operation) {
+        if (recording) {
+            errors.computeIfAbsent(operation, key -> new LongAdder()).increment();
+        }
+    }
+
+    void report(PrintStream out, double seconds) {
+        Map<String, Histogram> sorted = new TreeMap<>(histograms);
+        errors.keySet().forEach(operation -> sorted.putIfAbsent(operation, new Histogram(3)));
+
+        out.printf("%-16s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "ops/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        sorted.forEach((operation, histogram) -> {
+            LongAdder errorCount = errors.get(operation);
+            out.printf("%-16s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation,
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds,
+                    errorCount == null ? 0 : errorCount.sum(),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        });
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.loadgen;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line options, given as {@code --name=value}. Durations accept {@code 500ms},
+ * {@code 30s} or {@code 5m}.
+ */
+record LoadConfig(
+        String apiUrl,
+        String paymentServiceUrl,
+        double rate,
+        boolean poisson,
+        Duration warmup,
+        Duration duration,
+        Map<Scenario, Integer> mix,
+        int products,
+        int maxInFlight,
+        Duration pollInterval,
+        Duration paymentTimeout) {
+
+    static LoadConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadConfig config = new LoadConfig(
+                options.getOrDefault("api", "http://localhost:8080"),
+                options.getOrDefault("payment-service", "http://localhost:8081"),
+                Double.parseDouble(options.getOrDefault("rate", "50")),
+                !"constant".equals(options.getOrDefault("arrivals", "poisson")),
+                parseDuration(options.getOrDefault("warmup", "10s")),
+                parseDuration(options.getOrDefault("duration", "60s")),
+                parseMix(options.getOrDefault("mix", "browse:60,search:25,checkout:15")),
+                Integer.parseInt(options.getOrDefault("products", "200")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "10000")),
+                parseDuration(options.getOrDefault("poll-interval", "100ms")),
+                parseDuration(options.getOrDefault("payment-timeout", "60s")));
+
+        if (config.rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        if (config.products < 1) {
+            throw new IllegalArgumentException("products must be at least 1");
+        }
+        return config;
+    }
+
+    private static Map<Scenario, Integer> parseMix(String value) {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("mix entries look like checkout:15, got: " + part);
+            }
+            mix.put(Scenario.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("mix weights must add up to more than 0");
+        }
+        return mix;
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for the E-Commerce API and Mock Payment Service.
+ *
+ * <p>Sessions arrive at a fixed rate (Poisson or evenly spaced) regardless of how fast
+ * earlier sessions complete, so a slow server shows up as growing latency instead of a
+ * lower request rate. Each arrival picks a scenario from the weighted mix and runs it
+ * on its own virtual thread.
+ * <pre>
+ * java -jar target/load-generator-1.0.0.jar --rate=200 --duration=2m --mix=browse:60,search:25,checkout:15
+ * </pre>
+ */
+public class LoadGenerator {
+
+    private static final String[] ADJECTIVES = {
+            "wireless", "ergonomic", "compact", "premium", "portable", "classic", "smart", "rugged"
+    };
+    private static final String[] NOUNS = {
+            "keyboard", "mouse", "headphones", "monitor", "laptop", "speaker", "charger", "backpack"
+    };
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadConfig config = LoadConfig.parse(args);
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        try (ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor()) {
+            ApiClient api = new ApiClient(config.apiUrl(), sessions, recorder);
+            ApiClient paymentService = new ApiClient(config.paymentServiceUrl(), sessions, recorder);
+
+            // Fail before seeding anything if either service is down
+            paymentService.get("setup", "/admin/simulator/stats");
+            List<String> productIds = seedProducts(api, config.products());
+            List<String> searchTerms = new ArrayList<>(List.of(ADJECTIVES));
+            searchTerms.addAll(List.of(NOUNS));
+
+            Scenario.Session session = new Scenario.Session(api, recorder, productIds, searchTerms,
+                    config.pollInterval().toNanos(), config.paymentTimeout().toNanos());
+            System.out.printf("Seeded %d products; warming up for %ds, then measuring for %ds at %.1f sessions/s (%s)%n",
+                    productIds.size(), config.warmup().toSeconds(), config.duration().toSeconds(), config.rate(),
+                    config.poisson() ? "poisson" : "constant");
+
+            RunCounters counters = drive(config, session, sessions, recorder);
+
+            // Let sessions that arrived inside the window finish, bounded by the payment timeout
+            long drainDeadline = System.nanoTime() + config.paymentTimeout().toNanos();
+            while (counters.inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+                TimeUnit.MILLISECONDS.sleep(100);
+            }
+            recorder.stop();
+
+            System.out.println();
+            recorder.report(System.out, config.duration().toMillis() / 1000.0);
+            System.out.printf("%nsessions: %d started, %d failed, %d skipped (max-in-flight reached), %d still running%n",
+                    counters.started.sum(), counters.failed.sum(), counters.skipped.sum(), counters.inFlight.get());
+            System.out.println("payment simulator: " + paymentService.get("setup", "/admin/simulator/stats"));
+
+            sessions.shutdownNow();
+        }
+    }
+
+    private static RunCounters drive(LoadConfig config, Scenario.Session session, ExecutorService sessions,
+                                     LatencyRecorder recorder) {
+        RunCounters counters = new RunCounters();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long begin = System.nanoTime();
+        long measureFrom = begin + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        long nextReport = begin + TimeUnit.SECONDS.toNanos(10);
+        boolean measuring = false;
+
+        // Arrival times are computed up front, so a late wake-up fires the backlog immediately
+        double nextArrival = begin;
+        while (nextArrival < end) {
+            long sleep = (long) nextArrival - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(sleep);
+            }
+
+            long now = System.nanoTime();
+            if (!measuring && now >= measureFrom) {
+                recorder.start();
+                measuring = true;
+            }
+            if (now >= nextReport) {
+                System.out.printf("[%3ds] started=%d inFlight=%d failed=%d skipped=%d%n",
+                        TimeUnit.NANOSECONDS.toSeconds(now - begin), counters.started.sum(),
+                        counters.inFlight.get(), counters.failed.sum(), counters.skipped.sum());
+                nextReport += TimeUnit.SECONDS.toNanos(10);
+            }
+
+            if (counters.inFlight.get() >= config.maxInFlight()) {
+                counters.skipped.increment();
+            } else {
+                Scenario scenario = pick(config.mix());
+                counters.inFlight.incrementAndGet();
+                counters.started.increment();
+                sessions.execute(() -> {
+                    try {
+                        scenario.run(session);
+                    } catch (RuntimeException e) {
+                        counters.failed.increment();
+                    } finally {
+                        counters.inFlight.decrementAndGet();
+                    }
+                });
+            }
+
+            nextArrival += config.poisson()
+                    ? -meanIntervalNanos * Math.log(1 - ThreadLocalRandom.current().nextDouble())
+                    : meanIntervalNanos;
+        }
+        return counters;
+    }
+
+    private static Scenario pick(Map<Scenario, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Scenario, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable: mix weights changed");
+    }
+
+    // Stock is large enough that checkouts never run out during a run
+    private static List<String> seedProducts(ApiClient api, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            JsonNode product = api.post("setup", "/api/products", Map.of(
+                    "name", capitalize(adjective) + " " + capitalize(noun) + " " + i,
+                    "description", "Load test " + adjective + " " + noun,
+                    "price", 5 + random.nextInt(500),
+                    "stock", 1_000_000));
+            ids.add(product.path("id").asText());
+        }
+        return ids;
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static final class RunCounters {
+        final LongAdder started = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        final AtomicInteger inFlight = new AtomicInteger();
+    }
+}
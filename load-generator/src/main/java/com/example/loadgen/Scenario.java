@@ -0,0 +1,91 @@
+package com.example.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One user session per arrival. Each HTTP call is recorded under its own operation
+ * name; checkout additionally records the time from placing the order until it is
+ * observed as PAID, which covers the outbox, the payment simulator and the webhook.
+ */
+enum Scenario {
+
+    /** List a page of products, then open a couple of them. */
+    BROWSE {
+        @Override
+        void run(Session session) {
+            session.api().get("product.list", "/api/products?size=20");
+            for (int i = 0; i < 2; i++) {
+                session.api().get("product.get", "/api/products/" + session.randomProductId());
+            }
+        }
+    },
+
+    SEARCH {
+        @Override
+        void run(Session session) {
+            session.api().get("product.search",
+                    "/api/products/search?size=20&q=" + ApiClient.encode(session.randomSearchTerm()));
+        }
+    },
+
+    /** Add to cart, place the order, pay, and wait for the webhook to mark it PAID. */
+    CHECKOUT {
+        @Override
+        void run(Session session) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String userId = "load-" + UUID.randomUUID();
+
+            int lines = 1 + random.nextInt(3);
+            for (int i = 0; i < lines; i++) {
+                session.api().post("cart.add", "/api/cart/add", Map.of(
+                        "userId", userId,
+                        "productId", session.randomProductId(),
+                        "quantity", 1 + random.nextInt(2)));
+            }
+
+            long orderStart = System.nanoTime();
+            JsonNode order = session.api().post("order.create", "/api/orders", Map.of("userId", userId));
+            String orderId = order.path("id").asText();
+
+            session.api().post("payment.create", "/api/payments/create", Map.of(
+                    "orderId", orderId,
+                    "amount", order.path("totalAmount").asDouble()));
+
+            long deadline = orderStart + session.paymentTimeoutNanos();
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(session.pollIntervalNanos());
+                String status = session.api().get("order.get", "/api/orders/" + orderId).path("status").asText();
+                if ("PAID".equals(status)) {
+                    session.recorder().recordNanos("order-to-PAID", System.nanoTime() - orderStart);
+                    return;
+                }
+                if ("FAILED".equals(status)) {
+                    // Simulated declines are expected; count them apart from real errors
+                    session.recorder().recordNanos("order-to-FAILED", System.nanoTime() - orderStart);
+                    return;
+                }
+            }
+            session.recorder().recordError("order-to-PAID");
+        }
+    };
+
+    abstract void run(Session session);
+
+    record Session(ApiClient api, LatencyRecorder recorder, List<String> productIds, List<String> searchTerms,
+                   long pollIntervalNanos, long paymentTimeoutNanos) {
+
+        String randomProductId() {
+            return productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+        }
+
+        String randomSearchTerm() {
+            return searchTerms.get(ThreadLocalRandom.current().nextInt(searchTerms.size()));
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.paymentservice;
 
+import com.example.common.VirtualThreadPinningMonitor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import(VirtualThreadPinningMonitor.class)
 public class PaymentServiceApplication {
 
     public static void main(String[] args) {
@@ -1,30 +1,114 @@
 package com.example.paymentservice.config;
 
+import com.example.common.HttpClientMetrics;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
-@EnableAsync
 public class AppConfig {
 
+    // Webhooks all go to the e-commerce API, so the per-route limit is effectively the pool size
+    @Value("${http.client.max-per-route:50}")
+    private int maxPerRoute;
+
+    @Value("${http.client.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${http.client.response-timeout:10s}")
+    private Duration responseTimeout;
+
+    @Value("${http.client.pool-timeout:2s}")
+    private Duration poolTimeout;
+
+    @Value("${http.client.idle-timeout:30s}")
+    private Duration idleTimeout;
+
+    @Value("${http.client.time-to-live:5m}")
+    private Duration timeToLive;
+
+    @Value("${payment.simulator.webhook-threads:4}")
+    private int webhookThreads;
+
+    @Value("${payment.simulator.webhook-queue-capacity:10000}")
+    private int webhookQueueCapacity;
+
+    @Bean
+    public PoolingHttpClientConnectionManager httpConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxPerRoute)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeout.toMillis()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLive.toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeout.toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeout.toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeout.toMillis()))
+                .build();
     }
 
+    @Bean
+    public HttpClientMetrics httpClientMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return new HttpClientMetrics(httpConnectionManager);
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient httpClient, HttpClientMetrics httpClientMetrics) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.getInterceptors().add(httpClientMetrics);
+        return restTemplate;
+    }
+
+    // Webhook delivery pool with a bounded queue; a full queue rejects, and the simulator
+    // counts the rejected webhook as a delivery error
     @Bean(name = "taskExecutor")
+    @Profile("!virtual")
     public Executor taskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("payment-async-");
+        executor.setCorePoolSize(webhookThreads);
+        executor.setMaxPoolSize(webhookThreads);
+        executor.setQueueCapacity(webhookQueueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("payment-webhook-");
         executor.initialize();
         return executor;
     }
+
+    @Bean(name = "taskExecutor")
+    @Profile("virtual")
+    public Executor virtualThreadTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("payment-webhook-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
 }
@@ -0,0 +1,28 @@
+package com.example.paymentservice.controller;
+
+import com.example.common.HttpClientMetrics;
+import com.example.paymentservice.simulator.PaymentSimulator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final HttpClientMetrics httpClientMetrics;
+    private final PaymentSimulator paymentSimulator;
+
+    @GetMapping("/http-client/stats")
+    public ResponseEntity<Map<String, Object>> getHttpClientStats() {
+        return ResponseEntity.ok(httpClientMetrics.stats());
+    }
+
+    @GetMapping("/simulator/stats")
+    public ResponseEntity<Map<String, Object>> getSimulatorStats() {
+        return ResponseEntity.ok(paymentSimulator.stats());
+    }
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,4 +16,7 @@ public class PaymentRequest {
     private Double amount;
 
     private String paymentId;
+
+    // Echoed back on the webhook
+    private Instant requestedAt;
 }
@@ -0,0 +1,53 @@
+package com.example.paymentservice.simulator;
+
+import java.util.Random;
+
+/**
+ * Shapes of simulated payment processing time. Samples are in milliseconds and are
+ * clamped to the configured min/max by the caller.
+ */
+public enum LatencyDistribution {
+
+    /** Always the mean. */
+    FIXED {
+        @Override
+        double sample(Random random, double mean, double stddev, double min, double max) {
+            return mean;
+        }
+    },
+
+    /** Evenly spread between min and max; mean and stddev are ignored. */
+    UNIFORM {
+        @Override
+        double sample(Random random, double mean, double stddev, double min, double max) {
+            return min + random.nextDouble() * (max - min);
+        }
+    },
+
+    NORMAL {
+        @Override
+        double sample(Random random, double mean, double stddev, double min, double max) {
+            return mean + stddev * random.nextGaussian();
+        }
+    },
+
+    /** Memoryless arrivals with the given mean; stddev is ignored. */
+    EXPONENTIAL {
+        @Override
+        double sample(Random random, double mean, double stddev, double min, double max) {
+            return -mean * Math.log(1 - random.nextDouble());
+        }
+    },
+
+    /** Right-skewed with a long tail, parameterised so the result has the given mean and stddev. */
+    LOG_NORMAL {
+        @Override
+        double sample(Random random, double mean, double stddev, double min, double max) {
+            double sigmaSquared = Math.log(1 + (stddev * stddev) / (mean * mean));
+            double mu = Math.log(mean) - sigmaSquared / 2;
+            return Math.exp(mu + Math.sqrt(sigmaSquared) * random.nextGaussian());
+        }
+    };
+
+    abstract double sample(Random random, double mean, double stddev, double min, double max);
+}
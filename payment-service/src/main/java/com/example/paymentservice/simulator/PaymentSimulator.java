@@ -0,0 +1,173 @@
+package com.example.paymentservice.simulator;
+
+import com.example.paymentservice.dto.PaymentWebhookRequest;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Completes mock payments after a sampled processing delay without holding a thread
+ * per payment: each payment is a timer entry on a single scheduler thread, and only
+ * the webhook call runs on the delivery executor. A payment counts as pending until its
+ * webhook has been sent, so max-pending bounds queued webhooks as well as timers.
+ */
+@Component
+@Slf4j
+public class PaymentSimulator implements DisposableBean {
+
+    private final RestTemplate restTemplate;
+    private final Executor webhookExecutor;
+    private final ScheduledThreadPoolExecutor timer;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder webhookErrors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Value("${ecommerce.webhook.url}")
+    private String webhookUrl;
+
+    @Value("${payment.simulator.success-rate:0.9}")
+    private double successRate;
+
+    @Value("${payment.simulator.max-pending:100000}")
+    private int maxPending;
+
+    @Value("${payment.simulator.latency.distribution:FIXED}")
+    private LatencyDistribution distribution;
+
+    @Value("${payment.simulator.latency.mean:3s}")
+    private Duration mean;
+
+    @Value("${payment.simulator.latency.stddev:1s}")
+    private Duration stddev;
+
+    @Value("${payment.simulator.latency.min:100ms}")
+    private Duration min;
+
+    @Value("${payment.simulator.latency.max:30s}")
+    private Duration max;
+
+    public PaymentSimulator(RestTemplate restTemplate, @Qualifier("taskExecutor") Executor webhookExecutor,
+                            MeterRegistry registry) {
+        this.restTemplate = restTemplate;
+        this.webhookExecutor = webhookExecutor;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "payment-simulator-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Read from the existing counters at scrape time; nothing extra on the payment path
+        Gauge.builder("payment.simulator.pending", pending, AtomicInteger::get)
+                .description("Payments waiting for their simulated completion or webhook delivery")
+                .register(registry);
+        outcomeCounter(registry, "success", succeeded);
+        outcomeCounter(registry, "failed", failed);
+        outcomeCounter(registry, "rejected", rejected);
+        FunctionCounter.builder("payment.simulator.webhook.errors", webhookErrors, LongAdder::sum)
+                .description("Webhooks that could not be delivered")
+                .register(registry);
+    }
+
+    /**
+     * Schedules the payment's outcome webhook.
+     *
+     * @return false if too many payments are already pending
+     */
+    public boolean submit(String orderId, String paymentId, Instant requestedAt) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+
+        long delayMillis = sampleDelayMillis();
+        timer.schedule(() -> complete(orderId, paymentId, requestedAt), delayMillis, TimeUnit.MILLISECONDS);
+        log.debug("Payment {} for order {} completes in {} ms", paymentId, orderId, delayMillis);
+        return true;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", pending.get());
+        stats.put("succeeded", succeeded.sum());
+        stats.put("failed", failed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("webhookErrors", webhookErrors.sum());
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        int dropped = timer.shutdownNow().size();
+        if (dropped > 0) {
+            log.warn("Payment simulator stopped with {} payments still pending", dropped);
+        }
+    }
+
+    private static void outcomeCounter(MeterRegistry registry, String outcome, LongAdder counter) {
+        FunctionCounter.builder("payment.simulator.payments", counter, LongAdder::sum)
+                .description("Simulated payments by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private long sampleDelayMillis() {
+        double sample = distribution.sample(ThreadLocalRandom.current(),
+                mean.toMillis(), stddev.toMillis(), min.toMillis(), max.toMillis());
+        return Math.max(min.toMillis(), Math.min(max.toMillis(), Math.round(sample)));
+    }
+
+    // Runs on the timer thread, so only decide the outcome here and hand the HTTP call off
+    private void complete(String orderId, String paymentId, Instant requestedAt) {
+        boolean success = ThreadLocalRandom.current().nextDouble() < successRate;
+        (success ? succeeded : failed).increment();
+
+        PaymentWebhookRequest webhookRequest = PaymentWebhookRequest.builder()
+                .orderId(orderId)
+                .paymentId(paymentId)
+                .status(success ? "SUCCESS" : "FAILED")
+                .message(success ? "Payment completed successfully" : "Payment failed")
+                .requestedAt(requestedAt)
+                .build();
+
+        try {
+            webhookExecutor.execute(() -> sendWebhook(webhookRequest));
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+            webhookErrors.increment();
+            log.error("Could not queue webhook for payment {}: {}", paymentId, e.getMessage());
+        }
+    }
+
+    private void sendWebhook(PaymentWebhookRequest webhookRequest) {
+        try {
+            restTemplate.postForObject(webhookUrl, webhookRequest, String.class);
+            log.debug("Webhook sent for payment {}: {}", webhookRequest.getPaymentId(), webhookRequest.getStatus());
+        } catch (Exception e) {
+            webhookErrors.increment();
+            log.error("Error sending webhook for payment {}: {}", webhookRequest.getPaymentId(), e.getMessage());
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+}
@@ -1,51 +0,0 @@
-package com.example.ecommerce.controller;
-
-import com.example.ecommerce.dto.CreateOrderRequest;
-import com.example.ecommerce.dto.OrderResponse;
-import com.example.ecommerce.model.Order;
-import com.example.ecommerce.service.OrderService;
-import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
-
-@RestController
-@RequestMapping("/api/orders")
-@RequiredArgsConstructor
-@Slf4j
-public class OrderController {
-
-    private final OrderService orderService;
-
-    @PostMapping
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        log.info("POST /api/orders - Creating order for user: {}", request.getUserId());
-        OrderResponse order = orderService.createOrder(request.getUserId());
-        return new ResponseEntity<>(order, HttpStatus.CREATED);
-    }
-
-    @GetMapping("/{orderId}")
-    public ResponseEntity<OrderResponse> getOrderById(@PathVariable String orderId) {
-        log.info("GET /api/orders/{} - Fetching order", orderId);
-        OrderResponse order = orderService.getOrderById(orderId);
-        return ResponseEntity.ok(order);
-    }
-
-    @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Order>> getUserOrders(@PathVariable String userId) {
-        log.info("GET /api/orders/user/{} - Fetching user orders", userId);
-        List<Order> orders = orderService.getUserOrders(userId);
-        return ResponseEntity.ok(orders);
-    }
-
-    @PostMapping("/{orderId}/cancel")
-    public ResponseEntity<OrderResponse> cancelOrder(@PathVariable String orderId) {
-        log.info("POST /api/orders/{}/cancel - Cancelling order", orderId);
-        OrderResponse order = orderService.cancelOrder(orderId);
-        return ResponseEntity.ok(order);
-    }
-}
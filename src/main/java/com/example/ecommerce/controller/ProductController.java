@@ -1,49 +0,0 @@
-package com.example.ecommerce.controller;
-
-import com.example.ecommerce.model.Product;
-import com.example.ecommerce.service.ProductService;
-import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
-
-@RestController
-@RequestMapping("/api/products")
-@RequiredArgsConstructor
-@Slf4j
-public class ProductController {
-
-    private final ProductService productService;
-
-    @PostMapping
-    public ResponseEntity<Product> createProduct(@Valid @RequestBody Product product) {
-        log.info("POST /api/products - Creating product: {}", product.getName());
-        Product createdProduct = productService.createProduct(product);
-        return new ResponseEntity<>(createdProduct, HttpStatus.CREATED);
-    }
-
-    @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        log.info("GET /api/products - Fetching all products");
-        List<Product> products = productService.getAllProducts();
-        return ResponseEntity.ok(products);
-    }
-
-    @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable String id) {
-        log.info("GET /api/products/{} - Fetching product", id);
-        Product product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
-    }
-
-    @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(@RequestParam String q) {
-        log.info("GET /api/products/search?q={}", q);
-        List<Product> products = productService.searchProducts(q);
-        return ResponseEntity.ok(products);
-    }
-}
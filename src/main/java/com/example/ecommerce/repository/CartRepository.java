@@ -1,18 +0,0 @@
-package com.example.ecommerce.repository;
-
-import com.example.ecommerce.model.CartItem;
-import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.stereotype.Repository;
-
-import java.util.List;
-import java.util.Optional;
-
-@Repository
-public interface CartRepository extends MongoRepository<CartItem, String> {
-
-    List<CartItem> findByUserId(String userId);
-
-    Optional<CartItem> findByUserIdAndProductId(String userId, String productId);
-
-    void deleteByUserId(String userId);
-}
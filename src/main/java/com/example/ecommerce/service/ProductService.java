@@ -1,61 +0,0 @@
-package com.example.ecommerce.service;
-
-import com.example.ecommerce.exception.ResourceNotFoundException;
-import com.example.ecommerce.model.Product;
-import com.example.ecommerce.repository.ProductRepository;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.List;
-
-@Service
-@RequiredArgsConstructor
-@Slf4j
-public class ProductService {
-
-    private final ProductRepository productRepository;
-
-    public Product createProduct(Product product) {
-        log.info("Creating product: {}", product.getName());
-        return productRepository.save(product);
-    }
-
-    public List<Product> getAllProducts() {
-        log.info("Fetching all products");
-        return productRepository.findAll();
-    }
-
-    public Product getProductById(String id) {
-        log.info("Fetching product with id: {}", id);
-        return productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-    }
-
-    @Transactional
-    public void updateStock(String productId, int quantity) {
-        log.info("Updating stock for product {}: reducing by {}", productId, quantity);
-        Product product = getProductById(productId);
-
-        if (product.getStock() < quantity) {
-            throw new IllegalArgumentException("Insufficient stock for product: " + product.getName());
-        }
-
-        product.setStock(product.getStock() - quantity);
-        productRepository.save(product);
-    }
-
-    public List<Product> searchProducts(String query) {
-        log.info("Searching products with query: {}", query);
-        return productRepository.findByNameContainingIgnoreCase(query);
-    }
-
-    @Transactional
-    public void restoreStock(String productId, int quantity) {
-        log.info("Restoring stock for product {}: adding back {}", productId, quantity);
-        Product product = getProductById(productId);
-        product.setStock(product.getStock() + quantity);
-        productRepository.save(product);
-    }
-}